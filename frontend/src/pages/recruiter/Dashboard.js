@@ -42,8 +42,8 @@ const RecruiterDashboard = () => {
       
       try {
         // Fetch recent job postings by this recruiter
-        const jobsData = await jobService.getRecruiterJobs(user.id, { limit: 5 });
-        setJobs(jobsData);
+        const jobsPage = await jobService.getRecruiterJobs(user.id, { limit: 5, includeDescription: false });
+        setJobs(jobsPage.jobs);
         
         // Fetch recent applications for this recruiter's jobs
         const applicationsData = await applicationService.getRecruiterApplications(user.id, { limit: 5 });
@@ -49,6 +49,8 @@ const JobsList = () => {
   const [selectedJob, setSelectedJob] = useState(null);
   const [deleting, setDeleting] = useState(false);
   const [statusUpdating, setStatusUpdating] = useState(false);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     const fetchJobs = async () => {
@@ -56,9 +58,10 @@ const JobsList = () => {
       setError('');
       
       try {
-        const jobsData = await jobService.getRecruiterJobs(user.id);
-        setJobs(jobsData);
-        setFilteredJobs(jobsData);
+        const jobsPage = await jobService.getRecruiterJobs(user.id);
+        setJobs(jobsPage.jobs);
+        setFilteredJobs(jobsPage.jobs);
+        setNextCursor(jobsPage.nextCursor);
       } catch (error) {
         console.error('Error fetching jobs:', error);
         setError('Failed to load jobs. Please try again later.');
@@ -100,6 +103,22 @@ const JobsList = () => {
     setSearchTerm(event.target.value);
   };
 
+  const handleLoadMore = async () => {
+    setLoadingMore(true);
+    setError('');
+    
+    try {
+      const jobsPage = await jobService.getRecruiterJobs(user.id, { cursor: nextCursor });
+      setJobs([...jobs, ...jobsPage.jobs]);
+      setNextCursor(jobsPage.nextCursor);
+    } catch (error) {
+      console.error('Error loading more jobs:', error);
+      setError('Failed to load more jobs. Please try again.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleDeleteClick = (job) => {
     setSelectedJob(job);
     setDeleteDialogOpen(true);
@@ -324,6 +343,14 @@ const JobsList = () => {
         </TableContainer>
       )}
       
+      {nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', my: 3 }}>
+          <Button variant="outlined" onClick={handleLoadMore} disabled={loadingMore}>
+            {loadingMore ? <CircularProgress size={24} /> : 'Load more'}
+          </Button>
+        </Box>
+      )}
+      
       {/* Delete Confirmation Dialog */}
       <Dialog
         open={deleteDialogOpen}
@@ -40,8 +40,8 @@ const Dashboard = () => {
       
       try {
         // Fetch recent jobs
-        const jobsResponse = await jobService.getAllJobs();
-        setRecentJobs(jobsResponse.slice(0, 3)); // Get only 3 most recent jobs
+        const jobsPage = await jobService.getAllJobs({ limit: 3 });
+        setRecentJobs(jobsPage.jobs); // Only the 3 most recent jobs
         
         // Fetch student applications
         const applicationsResponse = await applicationService.getStudentApplications(user.id);
@@ -32,6 +32,10 @@ const JobsList = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  // Results of the last submitted search, with the cursor of their next page
+  const [searchResults, setSearchResults] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     const fetchJobs = async () => {
@@ -39,9 +43,10 @@ const JobsList = () => {
       setError('');
       
       try {
-        const jobsData = await jobService.getAllJobs();
-        setJobs(jobsData);
-        setFilteredJobs(jobsData);
+        const jobsPage = await jobService.getAllJobs();
+        setJobs(jobsPage.jobs);
+        setFilteredJobs(jobsPage.jobs);
+        setNextCursor(jobsPage.nextCursor);
       } catch (error) {
         console.error('Error fetching jobs:', error);
         setError('Failed to load jobs. Please try again later.');
@@ -69,10 +74,12 @@ const JobsList = () => {
 
   const handleSearchChange = (event) => {
     setSearchTerm(event.target.value);
+    setSearchResults(null);
   };
 
   const clearSearch = () => {
     setSearchTerm('');
+    setSearchResults(null);
   };
 
   const handleSearch = async () => {
@@ -84,8 +91,8 @@ const JobsList = () => {
     setError('');
     
     try {
-      const results = await jobService.searchJobs(searchTerm);
-      setFilteredJobs(results);
+      const resultsPage = await jobService.searchJobs(searchTerm);
+      setSearchResults({ term: searchTerm, ...resultsPage });
     } catch (error) {
       console.error('Error searching jobs:', error);
       setError('Failed to search jobs. Please try again.');
@@ -94,6 +101,35 @@ const JobsList = () => {
     }
   };
 
+  // Loads the next page of whichever list is shown, the catalog or the search results
+  const handleLoadMore = async () => {
+    setLoadingMore(true);
+    setError('');
+    
+    try {
+      if (searchResults) {
+        const resultsPage = await jobService.searchJobs(searchResults.term, { cursor: searchResults.nextCursor });
+        setSearchResults({
+          term: searchResults.term,
+          jobs: [...searchResults.jobs, ...resultsPage.jobs],
+          nextCursor: resultsPage.nextCursor
+        });
+      } else {
+        const jobsPage = await jobService.getAllJobs({ cursor: nextCursor });
+        setJobs([...jobs, ...jobsPage.jobs]);
+        setNextCursor(jobsPage.nextCursor);
+      }
+    } catch (error) {
+      console.error('Error loading more jobs:', error);
+      setError('Failed to load more jobs. Please try again.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const shownJobs = searchResults ? searchResults.jobs : filteredJobs;
+  const shownCursor = searchResults ? searchResults.nextCursor : nextCursor;
+
   const formatSalaryRange = (min, max) => {
     if (!min && !max) return 'Not specified';
     if (min && !max) return `$${min.toLocaleString()}+`;
@@ -165,7 +201,7 @@ const JobsList = () => {
         </Box>
       )}
       
-      {!loading && filteredJobs.length === 0 && (
+      {!loading && shownJobs.length === 0 && (
         <Alert severity="info">
           No jobs found matching your search criteria.
         </Alert>
@@ -173,7 +209,7 @@ const JobsList = () => {
       
       {/* Jobs List */}
       <Grid container spacing={3}>
-        {filteredJobs.map(job => (
+        {shownJobs.map(job => (
           <Grid item xs={12} sm={6} md={4} key={job.id}>
             <Card className="job-card">
               <CardContent className="job-card-content">
@@ -236,6 +272,14 @@ const JobsList = () => {
           </Grid>
         ))}
       </Grid>
+      
+      {!loading && shownCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', my: 3 }}>
+          <Button variant="outlined" onClick={handleLoadMore} disabled={loadingMore}>
+            {loadingMore ? <CircularProgress size={24} /> : 'Load more'}
+          </Button>
+        </Box>
+      )}
     </Container>
   );
 };
@@ -113,7 +113,9 @@ const Profile = () => {
     try {
       const response = await studentService.uploadResume(selectedFile);
       formik.setFieldValue('resumeUrl', response.fileDownloadUri);
-      setSuccess('Resume uploaded successfully');
+      setSuccess(response.warning
+        ? `Resume uploaded successfully. ${response.warning}.`
+        : 'Resume uploaded successfully');
       setSelectedFile(null);
     } catch (error) {
       console.error('Error uploading resume:', error);
@@ -246,7 +248,7 @@ const Profile = () => {
                   </Typography>
                   <Box className="file-upload-container">
                     <input
-                      accept="application/pdf,application/msword,application/vnd.openxmlformats-officedocument.wordprocessingml.document"
+                      accept="application/pdf,application/msword,application/vnd.openxmlformats-officedocument.wordprocessingml.document,text/plain"
                       style={{ display: 'none' }}
                       id="resume-file"
                       type="file"
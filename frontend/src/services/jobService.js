@@ -1,11 +1,27 @@
 import apiService from './apiService';
 
 const JOBS_URL = '/api/joboffers';
+const PAGE_SIZE = 20;
+
+// Listing endpoints return one page at a time; the cursor of the next page comes in the
+// X-Next-Cursor header and is handed back to the caller, which loads more on demand
+const fetchJobsPage = async (url, options = {}) => {
+  const params = [`limit=${options.limit || PAGE_SIZE}`];
+  // List views that don't show descriptions can skip loading them
+  if (options.includeDescription === false) {
+    params.push('includeDescription=false');
+  }
+  if (options.cursor) {
+    params.push(`cursor=${encodeURIComponent(options.cursor)}`);
+  }
+
+  const response = await apiService.get(`${url}?${params.join('&')}`);
+  return { jobs: response.data, nextCursor: response.headers['x-next-cursor'] || null };
+};
 
 const jobService = {
-  getAllJobs: async () => {
-    const response = await apiService.get(JOBS_URL);
-    return response.data;
+  getAllJobs: async (options = {}) => {
+    return fetchJobsPage(JOBS_URL, options);
   },
   
   getJobById: async (id) => {
@@ -13,8 +29,18 @@ const jobService = {
     return response.data;
   },
   
-  searchJobs: async (keyword) => {
-    const response = await apiService.get(`${JOBS_URL}/search?keyword=${keyword}`);
+  searchJobs: async (keyword, options = {}) => {
+    let url = `${JOBS_URL}/search?keyword=${encodeURIComponent(keyword)}&limit=${options.limit || PAGE_SIZE}`;
+    if (options.cursor) {
+      url += `&cursor=${encodeURIComponent(options.cursor)}`;
+    }
+    const response = await apiService.get(url);
+    // The search response also carries totalHits and facets
+    return { jobs: response.data.jobOffers, nextCursor: response.data.nextCursor || null };
+  },
+  
+  suggestJobs: async (prefix, limit = 10) => {
+    const response = await apiService.get(`${JOBS_URL}/suggest?prefix=${encodeURIComponent(prefix)}&limit=${limit}`);
     return response.data;
   },
   
@@ -34,12 +60,7 @@ const jobService = {
   },
   
   getRecruiterJobs: async (recruiterId, options = {}) => {
-    let url = `${JOBS_URL}/recruiter/${recruiterId}`;
-    if (options.limit) {
-      url += `?limit=${options.limit}`;
-    }
-    const response = await apiService.get(url);
-    return response.data;
+    return fetchJobsPage(`${JOBS_URL}/recruiter/${recruiterId}`, options);
   }
 };
 
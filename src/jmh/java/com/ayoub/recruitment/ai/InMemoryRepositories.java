@@ -0,0 +1,72 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.JobOffer;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Read-only repositories over in-memory lists, so the benchmarks measure scoring and not JPA.
+ * Only the finder methods used by the ai package and JobCatalog are implemented.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static JobOfferRepository jobOffers(List<JobOffer> jobOffers) {
+        return proxy(JobOfferRepository.class, (method, args) -> {
+            switch (method.getName()) {
+                case "findAllDtos":
+                    List<JobOfferDto> dtos = new ArrayList<>(jobOffers.size());
+                    jobOffers.forEach(jobOffer -> dtos.add(SyntheticData.toDto(jobOffer)));
+                    return dtos;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    static StudentProfileRepository studentProfiles(List<StudentProfile> profiles) {
+        Map<Long, StudentProfile> byUserId = new HashMap<>();
+        profiles.forEach(profile -> byUserId.put(profile.getUser().getId(), profile));
+
+        return proxy(StudentProfileRepository.class, (method, args) -> {
+            switch (method.getName()) {
+                case "findAll":
+                    return profiles;
+                case "findByUserId":
+                    return Optional.ofNullable(byUserId.get((Long) args[0]));
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return self == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(self);
+                    default:
+                        return type.getSimpleName() + "(in memory)";
+                }
+            }
+            return handler.apply(method, args);
+        });
+        return type.cast(proxy);
+    }
+}
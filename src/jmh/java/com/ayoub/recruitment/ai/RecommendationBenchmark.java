@@ -0,0 +1,78 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.JobOffer;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.service.JobCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput of the recommendation hot paths over synthetic catalogs.
+ * Run with ./gradlew jmh; the gc profiler adds gc.alloc.rate.norm, the bytes allocated per call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RecommendationBenchmark {
+
+    private static final int SKILLS_PER_JOB = 8;
+
+    @Param({"1000", "10000", "100000"})
+    private int catalogSize;
+
+    @Param({"3", "10", "30"})
+    private int skillsPerProfile;
+
+    @Param({"5", "50"})
+    private int limit;
+
+    private SimpleRecommendationService recommendationService;
+    private StudentProfile studentProfile;
+    private List<JobOfferDto> catalog;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42L, 2000);
+        List<JobOffer> jobOffers = data.jobOffers(catalogSize, SKILLS_PER_JOB);
+        List<StudentProfile> profiles = data.studentProfiles(1, skillsPerProfile);
+        studentProfile = profiles.get(0);
+        catalog = jobOffers.stream().map(SyntheticData::toDto).collect(Collectors.toList());
+
+        JobCatalog jobCatalog = new JobCatalog(InMemoryRepositories.jobOffers(jobOffers));
+        StudentProfileRepository studentProfileRepository = InMemoryRepositories.studentProfiles(profiles);
+        SkillDictionary skillDictionary = new SkillDictionary();
+        JobSkillIndex jobSkillIndex = new JobSkillIndex(jobCatalog, skillDictionary);
+        JobMatcher jobMatcher = new JobMatcher(jobSkillIndex,
+                new JobLshIndex(jobCatalog, skillDictionary, 20, 5),
+                new TfIdfIndex(jobCatalog), false, "skills");
+        recommendationService = new SimpleRecommendationService(jobCatalog, studentProfileRepository,
+                skillDictionary, jobSkillIndex, jobMatcher, new SkillExtractor(new ClassPathResource("skills.txt")));
+
+        // Load the lazy skill index outside of the measurement
+        recommendationService.getRecommendationsForStudent(studentProfile.getUser().getId(), limit);
+    }
+
+    @Benchmark
+    public double calculateMatchScore() {
+        JobOfferDto job = catalog.get(cursor);
+        cursor = cursor + 1 == catalog.size() ? 0 : cursor + 1;
+        return recommendationService.calculateMatchScore(studentProfile, job);
+    }
+
+    @Benchmark
+    public List<JobOfferDto> recommendJobs() {
+        return recommendationService.recommendJobs(studentProfile, catalog, 0, limit);
+    }
+
+    @Benchmark
+    public List<JobOfferDto> getRecommendationsForStudent() {
+        return recommendationService.getRecommendationsForStudent(studentProfile.getUser().getId(), limit);
+    }
+}
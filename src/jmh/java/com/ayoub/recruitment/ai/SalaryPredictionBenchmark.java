@@ -0,0 +1,38 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.model.StudentProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of salary prediction for profiles with an increasing number of skills.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SalaryPredictionBenchmark {
+
+    private static final int PROFILES = 1024;
+
+    @Param({"3", "10", "30"})
+    private int skillsPerProfile;
+
+    private SimpleSalaryPredictionService salaryPredictionService;
+    private List<StudentProfile> profiles;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        profiles = new SyntheticData(42L, 2000).studentProfiles(PROFILES, skillsPerProfile);
+        salaryPredictionService = new SimpleSalaryPredictionService(InMemoryRepositories.studentProfiles(profiles));
+    }
+
+    @Benchmark
+    public SalaryPredictionService.SalaryPrediction predictSalary() {
+        StudentProfile profile = profiles.get(cursor);
+        cursor = (cursor + 1) & (PROFILES - 1);
+        return salaryPredictionService.predictSalary(profile);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ayoub.recruitment.ai;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of skill extraction over resumes of increasing length.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SkillExtractionBenchmark {
+
+    @Param({"200", "2000", "20000"})
+    private int resumeWords;
+
+    private SkillExtractor skillExtractor;
+    private String resume;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        skillExtractor = new SkillExtractor(new ClassPathResource("skills.txt"));
+        resume = new SyntheticData(42L, 2000).resume(resumeWords);
+    }
+
+    @Benchmark
+    public List<String> extractSkills() {
+        return skillExtractor.extractSkills(resume);
+    }
+}
@@ -0,0 +1,151 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.JobOffer;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.User;
+import com.ayoub.recruitment.model.UserRole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of job offers, student profiles and resumes for the benchmarks.
+ * Skills are drawn with a skew towards the head of the vocabulary, like real catalogs where a few
+ * skills (java, sql, git...) appear in most offers and the long tail in very few.
+ */
+public final class SyntheticData {
+
+    private static final String[] KNOWN_SKILLS = {
+            "java", "python", "javascript", "typescript", "c++", "c#", "php", "ruby",
+            "sql", "nosql", "mongodb", "postgresql", "mysql", "oracle", "spring", "hibernate",
+            "react", "angular", "vue", "node.js", "express", "django", "flask", "docker",
+            "kubernetes", "aws", "azure", "gcp", "devops", "ci/cd", "git", "agile", "scrum",
+            "machine learning", "data science", "spring boot", "kafka", "spark", "tensorflow"
+    };
+
+    private static final String[] WORDS = {
+            "team", "build", "scalable", "services", "customers", "platform", "design", "develop",
+            "maintain", "production", "features", "product", "cloud", "data", "pipeline", "quality",
+            "experience", "years", "collaborate", "engineers", "deliver", "reliable", "systems", "users"
+    };
+
+    private static final String[] TITLES = {
+            "Backend Developer", "Frontend Developer", "Full Stack Engineer", "Data Scientist",
+            "DevOps Engineer", "Software Engineer", "Machine Learning Engineer", "Mobile Developer"
+    };
+
+    private static final String[] EDUCATIONS = {
+            "Bachelor of Computer Science", "Master in Software Engineering", "PhD in Machine Learning",
+            "Bootcamp graduate"
+    };
+
+    private final SplittableRandom random;
+    private final String[] vocabulary;
+
+    public SyntheticData(long seed, int vocabularySize) {
+        this.random = new SplittableRandom(seed);
+        this.vocabulary = new String[Math.max(vocabularySize, KNOWN_SKILLS.length)];
+        System.arraycopy(KNOWN_SKILLS, 0, vocabulary, 0, KNOWN_SKILLS.length);
+        for (int i = KNOWN_SKILLS.length; i < vocabulary.length; i++) {
+            vocabulary[i] = "skill-" + i;
+        }
+    }
+
+    public List<JobOffer> jobOffers(int count, int skillsPerJob) {
+        User recruiter = new User();
+        recruiter.setId(1L);
+        recruiter.setEmail("recruiter@example.com");
+        recruiter.setRole(UserRole.RECRUITER);
+
+        List<JobOffer> jobOffers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JobOffer jobOffer = new JobOffer();
+            jobOffer.setId((long) i + 1);
+            jobOffer.setRecruiter(recruiter);
+            jobOffer.setTitle(TITLES[random.nextInt(TITLES.length)]);
+            jobOffer.setDescription(text(40));
+            jobOffer.setCompanyName("Company " + random.nextInt(1000));
+            jobOffer.setSalaryMin(30000.0 + random.nextInt(40000));
+            jobOffer.setSalaryMax(jobOffer.getSalaryMin() + random.nextInt(40000));
+            jobOffer.setSkills(skills(skillsPerJob));
+            jobOffers.add(jobOffer);
+        }
+        return jobOffers;
+    }
+
+    public List<StudentProfile> studentProfiles(int count, int skillsPerProfile) {
+        List<StudentProfile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User student = new User();
+            student.setId((long) i + 1);
+            student.setEmail("student" + i + "@example.com");
+            student.setRole(UserRole.STUDENT);
+
+            StudentProfile profile = new StudentProfile();
+            profile.setId((long) i + 1);
+            profile.setUser(student);
+            profile.setFullName("Student " + i);
+            profile.setEducation(EDUCATIONS[random.nextInt(EDUCATIONS.length)]);
+            profile.setExperience(text(20));
+            profile.setSkills(skills(skillsPerProfile));
+            profiles.add(profile);
+        }
+        return profiles;
+    }
+
+    /**
+     * Returns resume-like prose with a known skill every ten words or so.
+     */
+    public String resume(int words) {
+        StringBuilder resume = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                resume.append(i % 12 == 0 ? ". " : " ");
+            }
+            resume.append(random.nextInt(10) == 0
+                    ? KNOWN_SKILLS[random.nextInt(KNOWN_SKILLS.length)]
+                    : WORDS[random.nextInt(WORDS.length)]);
+        }
+        return resume.toString();
+    }
+
+    public static JobOfferDto toDto(JobOffer jobOffer) {
+        JobOfferDto dto = new JobOfferDto();
+        dto.setId(jobOffer.getId());
+        dto.setRecruiterId(jobOffer.getRecruiter().getId());
+        dto.setRecruiterEmail(jobOffer.getRecruiter().getEmail());
+        dto.setTitle(jobOffer.getTitle());
+        dto.setDescription(jobOffer.getDescription());
+        dto.setCompanyName(jobOffer.getCompanyName());
+        dto.setSalaryMin(jobOffer.getSalaryMin());
+        dto.setSalaryMax(jobOffer.getSalaryMax());
+        dto.setSkills(jobOffer.getSkills());
+        return dto;
+    }
+
+    private String skills(int count) {
+        Set<String> skills = new LinkedHashSet<>();
+        int wanted = Math.min(count, vocabulary.length);
+        while (skills.size() < wanted) {
+            // Squaring a uniform draw favours low indexes, i.e. the common skills
+            double u = random.nextDouble();
+            skills.add(vocabulary[(int) (u * u * vocabulary.length)]);
+        }
+        return String.join(", ", skills);
+    }
+
+    private String text(int words) {
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
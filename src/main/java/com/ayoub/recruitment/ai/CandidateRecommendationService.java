@@ -0,0 +1,61 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.CandidateDto;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the students best matching a job offer, the reverse of job recommendations.
+ * Only students sharing at least one skill with the job offer are scored.
+ */
+@Service
+public class CandidateRecommendationService {
+
+    private final StudentProfileRepository studentProfileRepository;
+    private final StudentSkillIndex studentSkillIndex;
+
+    public CandidateRecommendationService(StudentProfileRepository studentProfileRepository,
+                                          StudentSkillIndex studentSkillIndex) {
+        this.studentProfileRepository = studentProfileRepository;
+        this.studentSkillIndex = studentSkillIndex;
+    }
+
+    /**
+     * Returns the best matching students for a job offer.
+     *
+     * @param jobOffer The job offer
+     * @param limit Maximum number of candidates to return
+     * @return Candidates sorted by match score, best first
+     */
+    public List<CandidateDto> findTopCandidates(JobOfferDto jobOffer, int limit) {
+        SkillSet jobSkills = studentSkillIndex.lookupSkills(jobOffer.getSkills());
+        if (jobSkills.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<TopK.Scored<Long>> matches = studentSkillIndex.findTopMatches(jobSkills, limit);
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Load only the selected profiles and return them in ranking order
+        Map<Long, StudentProfile> profilesById = new HashMap<>();
+        studentProfileRepository.findAllById(matches.stream().map(TopK.Scored::getItem).collect(Collectors.toList()))
+                .forEach(profile -> profilesById.put(profile.getId(), profile));
+
+        List<CandidateDto> candidates = new ArrayList<>(matches.size());
+        for (TopK.Scored<Long> match : matches) {
+            StudentProfile profile = profilesById.get(match.getItem());
+            if (profile != null) {
+                candidates.add(new CandidateDto(profile.getUser().getId(), profile.getUser().getEmail(),
+                        profile.getFullName(), profile.getEducation(), profile.getSkills(), match.getScore()));
+            }
+        }
+        return candidates;
+    }
+}
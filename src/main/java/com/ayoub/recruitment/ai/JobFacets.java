@@ -0,0 +1,252 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.JobSearchFilter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Facet bitmaps over the job offer ordinals of a JobSearchIndex: one bitmap per company and per
+ * skill, and bucketed bitmaps for salaries and creation dates. Filters are unions and
+ * intersections of these bitmaps, and facet counts are intersection cardinalities, so neither
+ * depends on reading the job offers again. Range filters only check exact values within the one
+ * bucket straddling the bound.
+ * Owned by JobSearchIndex, which guards it with its lock.
+ */
+final class JobFacets {
+
+    static final String COMPANY = "company";
+    static final String SKILLS = "skills";
+    static final String SALARY = "salary";
+
+    private static final long SALARY_BUCKET = 10_000;
+    private static final long CREATED_AT_BUCKET = 7 * 24 * 3600;
+    private static final int MAX_FACET_VALUES = 20;
+
+    // Lowercased company name -> bitmap, and the name as first written for display
+    private final Map<String, OrdinalBitmap> byCompany = new HashMap<>();
+    private final Map<String, String> companyNames = new HashMap<>();
+    private final Map<String, OrdinalBitmap> bySkill = new HashMap<>();
+
+    // Bucket number -> bitmap; min salaries also back the salary facet
+    private final TreeMap<Long, OrdinalBitmap> bySalaryMin = new TreeMap<>();
+    private final TreeMap<Long, OrdinalBitmap> bySalaryMax = new TreeMap<>();
+    private final TreeMap<Long, OrdinalBitmap> byCreatedAt = new TreeMap<>();
+
+    // Exact values per ordinal, NaN when missing, and what each ordinal was filed under for removal
+    private double[] salaryMins = new double[256];
+    private double[] salaryMaxs = new double[256];
+    private double[] createdAts = new double[256];
+    private String[] companies = new String[256];
+    private String[][] skills = new String[256][];
+
+    void add(int ordinal, JobOfferDto jobOffer) {
+        ensureCapacity(ordinal + 1);
+
+        String company = jobOffer.getCompanyName() != null ? jobOffer.getCompanyName().trim() : "";
+        if (!company.isEmpty()) {
+            String key = company.toLowerCase();
+            companies[ordinal] = key;
+            companyNames.putIfAbsent(key, company);
+            byCompany.computeIfAbsent(key, k -> new OrdinalBitmap()).add(ordinal);
+        }
+
+        skills[ordinal] = SkillParser.parseSkills(jobOffer.getSkills()).toArray(new String[0]);
+        for (String skill : skills[ordinal]) {
+            bySkill.computeIfAbsent(skill, k -> new OrdinalBitmap()).add(ordinal);
+        }
+
+        salaryMins[ordinal] = file(bySalaryMin, jobOffer.getSalaryMin(), SALARY_BUCKET, ordinal);
+        salaryMaxs[ordinal] = file(bySalaryMax, jobOffer.getSalaryMax(), SALARY_BUCKET, ordinal);
+        Double createdAt = jobOffer.getCreatedAt() != null ? (double) epochSecond(jobOffer.getCreatedAt()) : null;
+        createdAts[ordinal] = file(byCreatedAt, createdAt, CREATED_AT_BUCKET, ordinal);
+    }
+
+    void remove(int ordinal) {
+        if (companies[ordinal] != null) {
+            unfile(byCompany, companies[ordinal], ordinal);
+            // The last offer of the company is gone, its display name goes with it
+            if (!byCompany.containsKey(companies[ordinal])) {
+                companyNames.remove(companies[ordinal]);
+            }
+            companies[ordinal] = null;
+        }
+        for (String skill : skills[ordinal]) {
+            unfile(bySkill, skill, ordinal);
+        }
+        skills[ordinal] = null;
+        unfile(bySalaryMin, salaryMins[ordinal], SALARY_BUCKET, ordinal);
+        unfile(bySalaryMax, salaryMaxs[ordinal], SALARY_BUCKET, ordinal);
+        unfile(byCreatedAt, createdAts[ordinal], CREATED_AT_BUCKET, ordinal);
+    }
+
+    /**
+     * Returns the ordinals passing every criterion of a filter.
+     *
+     * @return The matching ordinals, or null if the filter has no criterion
+     */
+    OrdinalBitmap filter(JobSearchFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        List<OrdinalBitmap> clauses = new ArrayList<>();
+        if (filter.getCompanies() != null && !filter.getCompanies().isEmpty()) {
+            List<OrdinalBitmap> matching = new ArrayList<>();
+            for (String company : filter.getCompanies()) {
+                OrdinalBitmap bitmap = byCompany.get(company.trim().toLowerCase());
+                if (bitmap != null) {
+                    matching.add(bitmap);
+                }
+            }
+            clauses.add(OrdinalBitmap.or(matching));
+        }
+        if (filter.getSkills() != null && !filter.getSkills().isEmpty()) {
+            clauses.add(skillClause(filter.getSkills(), filter.isMatchAnySkill()));
+        }
+        if (filter.getMinSalary() != null) {
+            clauses.add(atLeast(bySalaryMax, salaryMaxs, SALARY_BUCKET, filter.getMinSalary()));
+        }
+        if (filter.getMaxSalary() != null) {
+            clauses.add(atMost(bySalaryMin, salaryMins, SALARY_BUCKET, filter.getMaxSalary()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            clauses.add(atLeast(byCreatedAt, createdAts, CREATED_AT_BUCKET, epochSecond(filter.getCreatedAfter())));
+        }
+        return intersect(clauses);
+    }
+
+    /**
+     * Counts the results per company, skill and salary bucket. Companies and skills are limited
+     * to the most frequent values.
+     */
+    Map<String, Map<String, Long>> count(OrdinalBitmap results) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put(COMPANY, topValues(byCompany, results, companyNames));
+        facets.put(SKILLS, topValues(bySkill, results, null));
+
+        Map<String, Long> salaries = new LinkedHashMap<>();
+        bySalaryMin.forEach((bucket, bitmap) -> {
+            int count = OrdinalBitmap.andCardinality(results, bitmap);
+            if (count > 0) {
+                salaries.put(bucket * SALARY_BUCKET + "-" + (bucket + 1) * SALARY_BUCKET, (long) count);
+            }
+        });
+        facets.put(SALARY, salaries);
+        return facets;
+    }
+
+    private OrdinalBitmap skillClause(List<String> requiredSkills, boolean matchAny) {
+        List<OrdinalBitmap> matching = new ArrayList<>();
+        for (String skill : requiredSkills) {
+            OrdinalBitmap bitmap = bySkill.get(skill.trim().toLowerCase());
+            if (bitmap != null) {
+                matching.add(bitmap);
+            } else if (!matchAny) {
+                return new OrdinalBitmap();
+            }
+        }
+        return matchAny ? OrdinalBitmap.or(matching) : intersect(matching);
+    }
+
+    // Smallest bitmaps first, so intermediate results shrink as fast as possible
+    private static OrdinalBitmap intersect(List<OrdinalBitmap> bitmaps) {
+        if (bitmaps.isEmpty()) {
+            return null;
+        }
+        bitmaps.sort(Comparator.comparingInt(OrdinalBitmap::cardinality));
+        OrdinalBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = OrdinalBitmap.and(result, bitmaps.get(i));
+        }
+        return result;
+    }
+
+    private static OrdinalBitmap atLeast(TreeMap<Long, OrdinalBitmap> buckets, double[] values,
+                                         long bucketWidth, double bound) {
+        long edge = (long) Math.floor(bound / bucketWidth);
+        List<OrdinalBitmap> parts = new ArrayList<>(buckets.tailMap(edge, false).values());
+        parts.add(refine(buckets.get(edge), values, bound, true));
+        return OrdinalBitmap.or(parts);
+    }
+
+    private static OrdinalBitmap atMost(TreeMap<Long, OrdinalBitmap> buckets, double[] values,
+                                        long bucketWidth, double bound) {
+        long edge = (long) Math.floor(bound / bucketWidth);
+        List<OrdinalBitmap> parts = new ArrayList<>(buckets.headMap(edge, false).values());
+        parts.add(refine(buckets.get(edge), values, bound, false));
+        return OrdinalBitmap.or(parts);
+    }
+
+    // Keeps the ordinals of the bucket straddling a bound whose exact value is on the right side of it
+    private static OrdinalBitmap refine(OrdinalBitmap bucket, double[] values, double bound, boolean atLeast) {
+        OrdinalBitmap refined = new OrdinalBitmap();
+        if (bucket != null) {
+            bucket.forEach(ordinal -> {
+                if (atLeast ? values[ordinal] >= bound : values[ordinal] <= bound) {
+                    refined.add(ordinal);
+                }
+            });
+        }
+        return refined;
+    }
+
+    private static Map<String, Long> topValues(Map<String, OrdinalBitmap> bitmaps, OrdinalBitmap results,
+                                               Map<String, String> displayNames) {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        bitmaps.forEach((value, bitmap) -> {
+            int count = OrdinalBitmap.andCardinality(results, bitmap);
+            if (count > 0) {
+                counts.add(Map.entry(value, (long) count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : counts.subList(0, Math.min(MAX_FACET_VALUES, counts.size()))) {
+            top.put(displayNames != null ? displayNames.get(entry.getKey()) : entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+
+    private static double file(TreeMap<Long, OrdinalBitmap> buckets, Double value, long bucketWidth, int ordinal) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        buckets.computeIfAbsent((long) Math.floor(value / bucketWidth), k -> new OrdinalBitmap()).add(ordinal);
+        return value;
+    }
+
+    private static void unfile(TreeMap<Long, OrdinalBitmap> buckets, double value, long bucketWidth, int ordinal) {
+        if (!Double.isNaN(value)) {
+            unfile(buckets, (long) Math.floor(value / bucketWidth), ordinal);
+        }
+    }
+
+    private static <K> void unfile(Map<K, OrdinalBitmap> bitmaps, K key, int ordinal) {
+        OrdinalBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= companies.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, companies.length * 2);
+        salaryMins = Arrays.copyOf(salaryMins, newLength);
+        salaryMaxs = Arrays.copyOf(salaryMaxs, newLength);
+        createdAts = Arrays.copyOf(createdAts, newLength);
+        companies = Arrays.copyOf(companies, newLength);
+        skills = Arrays.copyOf(skills, newLength);
+    }
+}
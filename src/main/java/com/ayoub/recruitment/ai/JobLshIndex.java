@@ -0,0 +1,224 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.service.JobCatalog;
+import com.ayoub.recruitment.service.JobOfferListener;
+import com.ayoub.recruitment.service.StudentProfileListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over MinHash signatures of job offer skills.
+ * Each signature is cut into bands of rows; job offers sharing at least one identical band
+ * with the student become candidates, which are then reranked by exact Jaccard similarity.
+ * A job with Jaccard similarity s is found with probability 1 - (1 - s^rows)^bands, so more
+ * bands raise recall and more rows cut the number of candidates scored.
+ * Signatures are computed when job offers and student profiles are written.
+ */
+@Component
+public class JobLshIndex implements JobOfferListener, StudentProfileListener {
+
+    private final JobCatalog jobCatalog;
+    private final SkillDictionary skillDictionary;
+    private final int bands;
+    private final int rows;
+    private final MinHasher minHasher;
+
+    // band -> band hash -> ids of the job offers whose signature has that band
+    private final List<Map<Long, Set<Long>>> buckets;
+
+    // job offer id -> signature and interned skills, for reranking and unlinking
+    private final Map<Long, IndexedJob> jobs = new HashMap<>();
+
+    // student profile id -> signature of the skills it was computed from
+    private final Map<Long, StudentSignature> studentSignatures = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public JobLshIndex(JobCatalog jobCatalog,
+                       SkillDictionary skillDictionary,
+                       @Value("${recommendations.lsh.bands:20}") int bands,
+                       @Value("${recommendations.lsh.rows:5}") int rows) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("LSH bands and rows must be positive");
+        }
+        this.jobCatalog = jobCatalog;
+        this.skillDictionary = skillDictionary;
+        this.bands = bands;
+        this.rows = rows;
+        this.minHasher = new MinHasher(bands * rows);
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Finds the candidate job offers of a student through LSH and ranks them by exact Jaccard similarity.
+     *
+     * @param studentProfile The student profile
+     * @param limit Maximum number of matches to return
+     * @return Matching job offer ids with their Jaccard scores, best first
+     */
+    public List<TopK.Scored<Long>> findTopMatches(StudentProfile studentProfile, int limit) {
+        int[] signature = studentSignature(studentProfile);
+        if (signature == null) {
+            return Collections.emptyList();
+        }
+        // Loaded first, so the skills of every indexed job offer are in the dictionary
+        ensureLoaded();
+        SkillSet skills = skillDictionary.lookupSkills(studentProfile.getSkills());
+
+        TopK<Long> topJobIds = new TopK<>(limit);
+        Set<Long> seen = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (int band = 0; band < bands; band++) {
+                Set<Long> jobIds = buckets.get(band).get(bandHash(signature, band));
+                if (jobIds == null) {
+                    continue;
+                }
+                for (Long jobId : jobIds) {
+                    if (seen.add(jobId)) {
+                        double score = skills.jaccard(jobs.get(jobId).skills);
+                        if (score > 0.0) {
+                            topJobIds.offer(jobId, jobId, score);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topJobIds.toSortedList();
+    }
+
+    @Override
+    public void onStudentProfileSaved(StudentProfile studentProfile) {
+        studentSignatures.remove(studentProfile.getId());
+        studentSignature(studentProfile);
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            unlink(jobOffer.getId());
+            link(jobOffer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            unlink(jobOfferId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int[] studentSignature(StudentProfile studentProfile) {
+        String skillsText = studentProfile.getSkills();
+        Long profileId = studentProfile.getId();
+        StudentSignature cached = profileId != null ? studentSignatures.get(profileId) : null;
+        if (cached != null && Objects.equals(cached.skillsText, skillsText)) {
+            return cached.signature;
+        }
+
+        int[] signature = minHasher.signature(SkillParser.parseSkills(skillsText));
+        if (profileId != null && signature != null) {
+            studentSignatures.put(profileId, new StudentSignature(skillsText, signature));
+        }
+        return signature;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+                    link(jobOffer);
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(JobOfferDto jobOffer) {
+        int[] signature = minHasher.signature(SkillParser.parseSkills(jobOffer.getSkills()));
+        if (signature == null) {
+            return;
+        }
+        jobs.put(jobOffer.getId(), new IndexedJob(signature, skillDictionary.internSkills(jobOffer.getSkills())));
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).computeIfAbsent(bandHash(signature, band), h -> new HashSet<>()).add(jobOffer.getId());
+        }
+    }
+
+    private void unlink(Long jobOfferId) {
+        IndexedJob job = jobs.remove(jobOfferId);
+        if (job == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            long hash = bandHash(job.signature, band);
+            Set<Long> jobIds = buckets.get(band).get(hash);
+            if (jobIds != null) {
+                jobIds.remove(jobOfferId);
+                if (jobIds.isEmpty()) {
+                    buckets.get(band).remove(hash);
+                }
+            }
+        }
+    }
+
+    // Different rows of one band can collide on a hash, which only adds candidates that reranking discards
+    private long bandHash(int[] signature, int band) {
+        long hash = 17;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return hash;
+    }
+
+    private static final class IndexedJob {
+        private final int[] signature;
+        private final SkillSet skills;
+
+        IndexedJob(int[] signature, SkillSet skills) {
+            this.signature = signature;
+            this.skills = skills;
+        }
+    }
+
+    private static final class StudentSignature {
+        private final String skillsText;
+        private final int[] signature;
+
+        StudentSignature(String skillsText, int[] signature) {
+            this.skillsText = skillsText;
+            this.signature = signature;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.model.StudentProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the job offers best matching a student's skills.
+ * Candidates come from the exact inverted skill index, or from the MinHash/LSH index when
+ * recommendations.lsh.enabled is set for very large catalogs; both rank by exact Jaccard similarity.
+ * With recommendations.scorer=tfidf, job offers are ranked by TF-IDF cosine similarity instead,
+ * so precomputed recommendations agree with the live ones.
+ */
+@Component
+public class JobMatcher {
+
+    private final JobSkillIndex jobSkillIndex;
+    private final JobLshIndex jobLshIndex;
+    private final TfIdfIndex tfIdfIndex;
+    private final boolean lshEnabled;
+    private final boolean tfIdfEnabled;
+
+    public JobMatcher(JobSkillIndex jobSkillIndex,
+                      JobLshIndex jobLshIndex,
+                      TfIdfIndex tfIdfIndex,
+                      @Value("${recommendations.lsh.enabled:false}") boolean lshEnabled,
+                      @Value("${recommendations.scorer:skills}") String scorer) {
+        this.jobSkillIndex = jobSkillIndex;
+        this.jobLshIndex = jobLshIndex;
+        this.tfIdfIndex = tfIdfIndex;
+        this.lshEnabled = lshEnabled;
+        this.tfIdfEnabled = "tfidf".equals(scorer);
+    }
+
+    /**
+     * Finds the job offers sharing skills with a student, best matches first.
+     *
+     * @param studentProfile The student profile
+     * @param limit Maximum number of matches to return
+     * @return Matching job offer ids with their scores, best first
+     */
+    public List<TopK.Scored<Long>> findTopMatches(StudentProfile studentProfile, int limit) {
+        if (tfIdfEnabled) {
+            return tfIdfIndex.findTopMatches(studentProfile, limit);
+        }
+        if (lshEnabled) {
+            return jobLshIndex.findTopMatches(studentProfile, limit);
+        }
+
+        SkillSet skills = jobSkillIndex.lookupSkills(studentProfile.getSkills());
+        if (skills.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jobSkillIndex.findTopMatches(skills, limit);
+    }
+}
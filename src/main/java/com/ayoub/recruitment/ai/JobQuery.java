@@ -0,0 +1,264 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.*;
+
+/**
+ * Parsed job search query. The syntax supports words, quoted phrases, AND, OR and NOT (upper
+ * case), parentheses and field qualifiers, as in {@code skills:java title:"backend developer" NOT
+ * company:acme}. Clauses without an operator between them are AND'ed, and AND binds tighter than OR.
+ * A query using none of this syntax is plain free text, which the search index ranks by any of
+ * its words instead of requiring all of them.
+ * Parsing is lenient, since queries come from a search box: an unterminated quote or parenthesis
+ * runs to the end of the query and a dangling operator is ignored.
+ */
+final class JobQuery {
+
+    static final int ANY_FIELD = -1;
+    static final int TITLE = 0;
+    static final int DESCRIPTION = 1;
+    static final int COMPANY = 2;
+    static final int SKILLS = 3;
+    static final int FIELD_COUNT = 4;
+
+    private static final Map<String, Integer> FIELDS = Map.of(
+            "title", TITLE, "description", DESCRIPTION, "company", COMPANY, "skills", SKILLS, "skill", SKILLS);
+
+    private final Node root;
+    private final boolean plain;
+
+    private JobQuery(Node root, boolean plain) {
+        this.root = root;
+        this.plain = plain;
+    }
+
+    /**
+     * Root of the query, or null if no clause is left once stop words are dropped.
+     */
+    Node getRoot() {
+        return root;
+    }
+
+    boolean isPlain() {
+        return plain;
+    }
+
+    static JobQuery parse(String query) {
+        Parser parser = new Parser(lex(query == null ? "" : query));
+        Node root = parser.parseOr();
+        return new JobQuery(root, !parser.structured);
+    }
+
+    /**
+     * Query node, matching a set of documents.
+     */
+    abstract static class Node {
+    }
+
+    /**
+     * A word, or a phrase when there are several tokens, in one field or in any field.
+     */
+    static final class Term extends Node {
+        final int field;
+        final String[] tokens;
+
+        Term(int field, String[] tokens) {
+            this.field = field;
+            this.tokens = tokens;
+        }
+    }
+
+    static final class And extends Node {
+        final List<Node> clauses;
+
+        And(List<Node> clauses) {
+            this.clauses = clauses;
+        }
+    }
+
+    static final class Or extends Node {
+        final List<Node> clauses;
+
+        Or(List<Node> clauses) {
+            this.clauses = clauses;
+        }
+    }
+
+    static final class Not extends Node {
+        final Node clause;
+
+        Not(Node clause) {
+            this.clause = clause;
+        }
+    }
+
+    /**
+     * Collects the tokens of the clauses a document must or may contain, for ranking.
+     */
+    static void positiveTokens(Node node, Set<String> tokens) {
+        if (node instanceof Term) {
+            tokens.addAll(Arrays.asList(((Term) node).tokens));
+        } else if (node instanceof And) {
+            ((And) node).clauses.forEach(clause -> positiveTokens(clause, tokens));
+        } else if (node instanceof Or) {
+            ((Or) node).clauses.forEach(clause -> positiveTokens(clause, tokens));
+        }
+    }
+
+    private enum TokenType { WORD, PHRASE, OPEN, CLOSE, AND, OR, NOT }
+
+    private static final class Token {
+        private final TokenType type;
+        private final int field;
+        private final String text;
+
+        private Token(TokenType type, int field, String text) {
+            this.type = type;
+            this.field = field;
+            this.text = text;
+        }
+    }
+
+    private static List<Token> lex(String query) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = query.length();
+        while (i < length) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(new Token(c == '(' ? TokenType.OPEN : TokenType.CLOSE, ANY_FIELD, null));
+                i++;
+            } else {
+                int field = ANY_FIELD;
+                int colon = fieldEnd(query, i);
+                if (colon > 0) {
+                    field = FIELDS.get(query.substring(i, colon).toLowerCase());
+                    i = colon + 1;
+                }
+                if (i < length && query.charAt(i) == '"') {
+                    int close = query.indexOf('"', i + 1);
+                    int end = close < 0 ? length : close;
+                    tokens.add(new Token(TokenType.PHRASE, field, query.substring(i + 1, end)));
+                    i = close < 0 ? length : close + 1;
+                    continue;
+                }
+                int start = i;
+                while (i < length && !Character.isWhitespace(query.charAt(i))
+                        && query.charAt(i) != '(' && query.charAt(i) != ')' && query.charAt(i) != '"') {
+                    i++;
+                }
+                String word = query.substring(start, i);
+                if (field == ANY_FIELD && (word.equals("AND") || word.equals("OR") || word.equals("NOT"))) {
+                    tokens.add(new Token(TokenType.valueOf(word), ANY_FIELD, null));
+                } else {
+                    tokens.add(new Token(TokenType.WORD, field, word));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    // Returns the position of the colon if a known field qualifier starts here, -1 otherwise
+    private static int fieldEnd(String query, int start) {
+        int i = start;
+        while (i < query.length() && Character.isLetter(query.charAt(i))) {
+            i++;
+        }
+        if (i < query.length() && query.charAt(i) == ':' && FIELDS.containsKey(query.substring(start, i).toLowerCase())) {
+            return i;
+        }
+        return -1;
+    }
+
+    private static final class Parser {
+        private final List<Token> tokens;
+        private int position;
+        private boolean structured;
+        // Number of open parentheses around the current clause
+        private int depth;
+
+        private Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        private Node parseOr() {
+            List<Node> clauses = new ArrayList<>();
+            add(clauses, parseAnd());
+            while (accept(TokenType.OR)) {
+                add(clauses, parseAnd());
+            }
+            return clauses.isEmpty() ? null : clauses.size() == 1 ? clauses.get(0) : new Or(clauses);
+        }
+
+        private Node parseAnd() {
+            List<Node> clauses = new ArrayList<>();
+            while (position < tokens.size()) {
+                TokenType next = tokens.get(position).type;
+                if (next == TokenType.OR || next == TokenType.CLOSE) {
+                    if (next == TokenType.CLOSE && depth == 0) {
+                        // A stray closing parenthesis
+                        position++;
+                        structured = true;
+                        continue;
+                    }
+                    break;
+                }
+                if (accept(TokenType.AND)) {
+                    continue;
+                }
+                add(clauses, parseNot());
+            }
+            return clauses.isEmpty() ? null : clauses.size() == 1 ? clauses.get(0) : new And(clauses);
+        }
+
+        private Node parseNot() {
+            if (accept(TokenType.NOT)) {
+                Node clause = position < tokens.size() ? parseNot() : null;
+                return clause != null ? new Not(clause) : null;
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            Token token = tokens.get(position++);
+            switch (token.type) {
+                case OPEN:
+                    structured = true;
+                    depth++;
+                    Node group = parseOr();
+                    depth--;
+                    accept(TokenType.CLOSE);
+                    return group;
+                case WORD:
+                case PHRASE:
+                    if (token.type == TokenType.PHRASE || token.field != ANY_FIELD) {
+                        structured = true;
+                    }
+                    String[] words = TextTokenizer.tokenize(token.text).toArray(new String[0]);
+                    return words.length == 0 ? null : new Term(token.field, words);
+                default:
+                    // An operator where a clause was expected
+                    return null;
+            }
+        }
+
+        private boolean accept(TokenType type) {
+            if (position < tokens.size() && tokens.get(position).type == type) {
+                position++;
+                if (type != TokenType.CLOSE) {
+                    structured = true;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        // Clauses made only of stop words are dropped
+        private static void add(List<Node> clauses, Node clause) {
+            if (clause != null) {
+                clauses.add(clause);
+            }
+        }
+    }
+}
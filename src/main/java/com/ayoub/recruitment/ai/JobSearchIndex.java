@@ -0,0 +1,393 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.JobSearchFilter;
+import com.ayoub.recruitment.service.JobCatalog;
+import com.ayoub.recruitment.service.JobOfferListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full-text index of the job offers over their title, description, company and skills, ranked
+ * with BM25. Fields are folded into one weighted document (BM25F), so a term in the title counts
+ * more than the same term in the description. The index is loaded on first use and then updated
+ * by JobOfferService writes; a search only visits the posting lists of the query terms, and
+ * allocates in proportion to them rather than to the catalog.
+ * Filters and facet counts are evaluated over bitmaps of the same document ordinals (JobFacets).
+ * Queries using the JobQuery syntax (phrases, AND/OR/NOT, field qualifiers) are matched on a
+ * positional index of the fields instead, and only their results are scored.
+ */
+@Component
+public class JobSearchIndex implements JobOfferListener {
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float SKILL_WEIGHT = 2.0f;
+    private static final float COMPANY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Indexed by the JobQuery field constants
+    private static final float[] FIELD_WEIGHTS = new float[JobQuery.FIELD_COUNT];
+
+    static {
+        FIELD_WEIGHTS[JobQuery.TITLE] = TITLE_WEIGHT;
+        FIELD_WEIGHTS[JobQuery.DESCRIPTION] = DESCRIPTION_WEIGHT;
+        FIELD_WEIGHTS[JobQuery.COMPANY] = COMPANY_WEIGHT;
+        FIELD_WEIGHTS[JobQuery.SKILLS] = SKILL_WEIGHT;
+    }
+
+    // Term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final JobCatalog jobCatalog;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final PositionalIndex positionalIndex = new PositionalIndex();
+    private final JobFacets facets = new JobFacets();
+
+    // Documents are addressed by a dense ordinal; ordinals of deleted job offers are reused
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] jobIds = new long[256];
+    private String[][] documentTerms = new String[256][];
+    private float[] documentLengths = new float[256];
+    private int ordinalCount;
+    private int documentCount;
+    private double totalLength;
+    private volatile boolean loaded;
+
+    public JobSearchIndex(JobCatalog jobCatalog) {
+        this.jobCatalog = jobCatalog;
+    }
+
+    /**
+     * Searches the job offers matching any term of a query.
+     *
+     * @param query Free-text query
+     * @param limit Maximum number of results
+     * @return Job offer ids with their BM25 score, most relevant first
+     */
+    public List<TopK.Scored<Long>> search(String query, int limit) {
+        return searchAfter(query, Double.POSITIVE_INFINITY, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * Returns the page of search results ranking right after a given result, so deep pages cost
+     * no more than the first one.
+     *
+     * @param query Free-text query
+     * @param afterScore Score of the last result of the previous page
+     * @param afterId Job offer id of the last result of the previous page
+     * @param limit Maximum number of results
+     * @return Job offer ids with their BM25 score, most relevant first
+     */
+    public List<TopK.Scored<Long>> searchAfter(String query, double afterScore, long afterId, int limit) {
+        return searchAfter(query, null, afterScore, afterId, limit, false).getHits();
+    }
+
+    /**
+     * Searches the job offers matching a query and a filter, with the total number of matches and
+     * their facet counts. Without query terms, every job offer passing the filter matches with a
+     * score of 0, so results come in ascending id order.
+     *
+     * @param query Free-text query matching any of its words, or a JobQuery expression such as
+     *              {@code skills:java title:"backend developer" NOT company:acme}; may be blank if
+     *              the filter has criteria
+     * @param filter Criteria every result must meet, or null
+     * @param afterScore Score of the last result of the previous page, +Infinity for the first page
+     * @param afterId Job offer id of the last result of the previous page
+     * @param limit Maximum number of results
+     * @param withFacets Whether to count the matches per company, skill and salary range
+     * @return The page of results; empty if neither the query nor the filter selects anything
+     */
+    public SearchResult searchAfter(String query, JobSearchFilter filter, double afterScore, long afterId,
+                                    int limit, boolean withFacets) {
+        ensureLoaded();
+        JobQuery parsedQuery = JobQuery.parse(query);
+        Set<String> terms = new LinkedHashSet<>();
+        JobQuery.positiveTokens(parsedQuery.getRoot(), terms);
+        TopK<Long> top = new TopK<>(Math.max(limit, 0));
+
+        lock.readLock().lock();
+        try {
+            OrdinalBitmap filtered = facets.filter(filter);
+            OrdinalBitmap results;
+            OrdinalScores scores = null;
+            if (parsedQuery.getRoot() != null) {
+                if (parsedQuery.isPlain()) {
+                    scores = match(terms);
+                    results = scores.ordinals();
+                } else {
+                    results = positionalIndex.evaluate(parsedQuery.getRoot());
+                }
+                if (filtered != null) {
+                    results = OrdinalBitmap.and(results, filtered);
+                }
+                if (!parsedQuery.isPlain()) {
+                    scores = score(results, terms);
+                }
+            } else if (filtered != null) {
+                results = filtered;
+            } else {
+                return new SearchResult(top.toSortedList(), 0, Collections.emptyMap());
+            }
+
+            if (limit > 0) {
+                OrdinalScores matchScores = scores;
+                results.forEach(ordinal -> {
+                    double score = matchScores != null ? matchScores.get(ordinal) : 0.0;
+                    // Results rank by score, then by ascending id; skip those up to the cursor
+                    if (score < afterScore || (score == afterScore && jobIds[ordinal] > afterId)) {
+                        top.offer(jobIds[ordinal], jobIds[ordinal], score);
+                    }
+                });
+            }
+            return new SearchResult(top.toSortedList(), results.cardinality(),
+                    withFacets ? facets.count(results) : Collections.emptyMap());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Scores the documents containing any of the terms, visiting only their posting lists
+    private OrdinalScores match(Set<String> terms) {
+        List<Postings> termPostings = new ArrayList<>();
+        int visited = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                termPostings.add(list);
+                visited += list.size;
+            }
+        }
+
+        OrdinalScores scores = new OrdinalScores(visited);
+        double averageLength = documentCount > 0 ? totalLength / documentCount : 1.0;
+        for (Postings list : termPostings) {
+            double idf = idf(list.size);
+            for (int i = 0; i < list.size; i++) {
+                int ordinal = list.ordinals[i];
+                double frequency = list.frequencies[i];
+                double norm = K1 * (1.0 - B + B * documentLengths[ordinal] / averageLength);
+                scores.add(ordinal, idf * frequency * (K1 + 1.0) / (frequency + norm));
+            }
+        }
+        return scores;
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            remove(jobOffer.getId());
+            add(jobOffer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            remove(jobOfferId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+                    add(jobOffer);
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(JobOfferDto jobOffer) {
+        List<List<String>> fieldTokens = new ArrayList<>(Collections.nCopies(JobQuery.FIELD_COUNT, null));
+        fieldTokens.set(JobQuery.TITLE, TextTokenizer.tokenize(jobOffer.getTitle()));
+        fieldTokens.set(JobQuery.DESCRIPTION, TextTokenizer.tokenize(jobOffer.getDescription()));
+        fieldTokens.set(JobQuery.COMPANY, TextTokenizer.tokenize(jobOffer.getCompanyName()));
+        fieldTokens.set(JobQuery.SKILLS, TextTokenizer.tokenize(jobOffer.getSkills()));
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (int field = 0; field < JobQuery.FIELD_COUNT; field++) {
+            length += addField(frequencies, fieldTokens.get(field), FIELD_WEIGHTS[field]);
+        }
+
+        // Offers without any searchable text still get an ordinal, so filters can select them
+        int ordinal = freeOrdinals.isEmpty() ? ordinalCount++ : freeOrdinals.pop();
+        ensureDocumentCapacity(ordinal + 1);
+        ordinals.put(jobOffer.getId(), ordinal);
+        jobIds[ordinal] = jobOffer.getId();
+        documentLengths[ordinal] = length;
+        documentTerms[ordinal] = frequencies.keySet().toArray(new String[0]);
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new Postings()).add(ordinal, frequency));
+        positionalIndex.add(ordinal, fieldTokens);
+        facets.add(ordinal, jobOffer);
+        documentCount++;
+        totalLength += length;
+    }
+
+    private void remove(Long jobOfferId) {
+        Integer ordinal = ordinals.remove(jobOfferId);
+        if (ordinal == null) {
+            return;
+        }
+        for (String term : documentTerms[ordinal]) {
+            Postings termPostings = postings.get(term);
+            termPostings.remove(ordinal);
+            if (termPostings.size == 0) {
+                postings.remove(term);
+            }
+        }
+        documentTerms[ordinal] = null;
+        positionalIndex.remove(ordinal);
+        facets.remove(ordinal);
+        documentCount--;
+        totalLength -= documentLengths[ordinal];
+        freeOrdinals.push(ordinal);
+    }
+
+    // Returns the weighted length the field adds to the document
+    private static float addField(Map<String, Float> frequencies, List<String> tokens, float weight) {
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    // Scores given documents by looking their terms up in the positional postings, at a cost proportional to the results
+    private OrdinalScores score(OrdinalBitmap results, Set<String> terms) {
+        OrdinalScores scores = new OrdinalScores(results.cardinality());
+        double averageLength = documentCount > 0 ? totalLength / documentCount : 1.0;
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            double idf = idf(termPostings.size);
+            results.forEach(ordinal -> {
+                double frequency = 0.0;
+                for (int field = 0; field < JobQuery.FIELD_COUNT; field++) {
+                    frequency += FIELD_WEIGHTS[field] * positionalIndex.frequency(field, term, ordinal);
+                }
+                if (frequency > 0.0) {
+                    double norm = K1 * (1.0 - B + B * documentLengths[ordinal] / averageLength);
+                    scores.add(ordinal, idf * frequency * (K1 + 1.0) / (frequency + norm));
+                }
+            });
+        }
+        return scores;
+    }
+
+    // Lucene's variant, which stays positive for terms present in most documents
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private void ensureDocumentCapacity(int capacity) {
+        if (capacity <= jobIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, jobIds.length * 2);
+        jobIds = Arrays.copyOf(jobIds, newLength);
+        documentTerms = Arrays.copyOf(documentTerms, newLength);
+        documentLengths = Arrays.copyOf(documentLengths, newLength);
+    }
+
+    /**
+     * A page of search results.
+     */
+    public static final class SearchResult {
+        private final List<TopK.Scored<Long>> hits;
+        private final long totalHits;
+        private final Map<String, Map<String, Long>> facets;
+
+        public SearchResult(List<TopK.Scored<Long>> hits, long totalHits, Map<String, Map<String, Long>> facets) {
+            this.hits = hits;
+            this.totalHits = totalHits;
+            this.facets = facets;
+        }
+
+        /**
+         * Job offer ids with their score, most relevant first.
+         */
+        public List<TopK.Scored<Long>> getHits() {
+            return hits;
+        }
+
+        /**
+         * Number of job offers matching the query and the filter, on every page.
+         */
+        public long getTotalHits() {
+            return totalHits;
+        }
+
+        /**
+         * Facet name -> value -> number of matching job offers; empty if facets were not requested.
+         */
+        public Map<String, Map<String, Long>> getFacets() {
+            return facets;
+        }
+    }
+
+    /**
+     * Posting list of a term: the ordinals of the documents containing it, sorted, and their
+     * weighted term frequency.
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int ordinal, float frequency) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                return;
+            }
+            int insertion = -index - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ordinals, insertion, ordinals, insertion + 1, size - insertion);
+            System.arraycopy(frequencies, insertion, frequencies, insertion + 1, size - insertion);
+            ordinals[insertion] = ordinal;
+            frequencies[insertion] = frequency;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.service.JobCatalog;
+import com.ayoub.recruitment.service.JobOfferListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inverted index from skill to the job offers requiring it, kept up to date by JobOfferService
+ * writes, so recommendations only score job offers that share at least one skill with the student.
+ */
+@Component
+public class JobSkillIndex extends SkillPostingIndex implements JobOfferListener {
+
+    private final JobCatalog jobCatalog;
+
+    public JobSkillIndex(JobCatalog jobCatalog, SkillDictionary skillDictionary) {
+        super(skillDictionary);
+        this.jobCatalog = jobCatalog;
+    }
+
+    @Override
+    protected void loadAll() {
+        for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+            link(jobOffer.getId(), jobOffer.getSkills());
+        }
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        update(jobOffer.getId(), jobOffer.getSkills());
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        remove(jobOfferId);
+    }
+}
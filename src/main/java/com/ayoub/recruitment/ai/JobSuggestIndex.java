@@ -0,0 +1,142 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.SuggestionDto;
+import com.ayoub.recruitment.service.JobCatalog;
+import com.ayoub.recruitment.service.JobOfferListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead suggestions over the job offer titles, company names and skills, weighted by the
+ * number of job offers using them. The trie is loaded on first use and then updated by
+ * JobOfferService writes, so a suggestion costs a walk down the prefix and never a query.
+ */
+@Component
+public class JobSuggestIndex implements JobOfferListener {
+
+    private final JobCatalog jobCatalog;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final SuggestionTrie trie = new SuggestionTrie();
+
+    // job offer id -> what it added to the trie, to take it back on update or delete
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private volatile boolean loaded;
+
+    public JobSuggestIndex(JobCatalog jobCatalog) {
+        this.jobCatalog = jobCatalog;
+    }
+
+    /**
+     * Returns the titles, companies and skills starting with a prefix.
+     *
+     * @param prefix What has been typed so far, case-insensitive
+     * @param limit Maximum number of suggestions
+     * @return The suggestions used by the most job offers first; empty for a blank prefix
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        if (SuggestionTrie.normalize(prefix).isEmpty()) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            remove(jobOffer.getId());
+            add(jobOffer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            remove(jobOfferId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+                    add(jobOffer);
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(JobOfferDto jobOffer) {
+        Contribution contribution = new Contribution(jobOffer.getTitle(), jobOffer.getCompanyName(),
+                SkillParser.parseSkills(jobOffer.getSkills()));
+        contribution.apply(trie, true);
+        contributions.put(jobOffer.getId(), contribution);
+    }
+
+    private void remove(Long jobOfferId) {
+        Contribution contribution = contributions.remove(jobOfferId);
+        if (contribution != null) {
+            contribution.apply(trie, false);
+        }
+    }
+
+    private static final class Contribution {
+        private final String title;
+        private final String company;
+        private final Set<String> skills;
+
+        private Contribution(String title, String company, Set<String> skills) {
+            this.title = title;
+            this.company = company;
+            this.skills = skills;
+        }
+
+        private void apply(SuggestionTrie trie, boolean add) {
+            apply(trie, title, SuggestionTrie.TITLE, add);
+            apply(trie, company, SuggestionTrie.COMPANY, add);
+            for (String skill : skills) {
+                apply(trie, skill, SuggestionTrie.SKILL, add);
+            }
+        }
+
+        private static void apply(SuggestionTrie trie, String text, String type, boolean add) {
+            if (text == null) {
+                return;
+            }
+            if (add) {
+                trie.add(text, type);
+            } else {
+                trie.remove(text, type);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * Computes MinHash signatures of skill sets. The probability that two signatures agree on
+ * a given position equals the Jaccard similarity of the two skill sets.
+ * Hashes are derived from the skill names with fixed seeds, so signatures are stable across
+ * restarts and nodes as long as the number of hash functions does not change.
+ */
+public final class MinHasher {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final long[] seeds;
+
+    public MinHasher(int numHashes) {
+        if (numHashes <= 0) {
+            throw new IllegalArgumentException("numHashes must be positive");
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        this.seeds = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return seeds.length;
+    }
+
+    /**
+     * Computes the signature of a set of normalized skill names.
+     *
+     * @param skills Normalized skill names
+     * @return The signature, or null if there are no skills
+     */
+    public int[] signature(Collection<String> skills) {
+        if (skills.isEmpty()) {
+            return null;
+        }
+
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String skill : skills) {
+            long skillHash = mix(skill.hashCode() * 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < seeds.length; i++) {
+                int hash = (int) (mix(skillHash ^ seeds[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Finalizer of MurmurHash3, spreads every input bit over the whole output
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
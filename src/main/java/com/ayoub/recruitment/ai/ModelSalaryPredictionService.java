@@ -0,0 +1,251 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.service.JobCatalog;
+import com.ayoub.recruitment.service.JobOfferListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * SalaryPredictionService backed by a SalaryModel learned from the salary ranges of the job offers.
+ * Once the application is ready, the latest snapshot published in the SalaryModelStore is loaded;
+ * only when there is none yet is the model trained over the whole catalog, and published as the
+ * first version. Predictions arriving before that wait for the load. The
+ * model then takes one gradient step per job offer written, so it follows the market without retraining.
+ * Newer versions published by any node are picked up periodically and swapped in atomically, while
+ * predictions keep being served by the previous model.
+ * Enabled with salary.predictor=model.
+ */
+@Service
+@ConditionalOnProperty(name = "salary.predictor", havingValue = "model")
+public class ModelSalaryPredictionService implements SalaryPredictionService, JobOfferListener {
+
+    // Below this many training examples the model is mostly bias, so confidence is scaled down
+    private static final double CONFIDENT_EXAMPLES = 50.0;
+
+    private final JobCatalog jobCatalog;
+    private final StudentProfileRepository studentProfileRepository;
+    private final SalaryModelStore salaryModelStore;
+    private final int dimensionBits;
+    private final double learningRate;
+    private final double l2;
+    private final int bootstrapEpochs;
+
+    // Guards the weights of the serving model against concurrent training steps
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+    private final AtomicReference<ServingModel> serving = new AtomicReference<>();
+
+    public ModelSalaryPredictionService(JobCatalog jobCatalog,
+                                        StudentProfileRepository studentProfileRepository,
+                                        SalaryModelStore salaryModelStore,
+                                        @Value("${salary.model.dimension-bits:18}") int dimensionBits,
+                                        @Value("${salary.model.learning-rate:0.05}") double learningRate,
+                                        @Value("${salary.model.l2:0.0001}") double l2,
+                                        @Value("${salary.model.bootstrap-epochs:20}") int bootstrapEpochs) {
+        this.jobCatalog = jobCatalog;
+        this.studentProfileRepository = studentProfileRepository;
+        this.salaryModelStore = salaryModelStore;
+        this.dimensionBits = dimensionBits;
+        this.learningRate = learningRate;
+        this.l2 = l2;
+        this.bootstrapEpochs = bootstrapEpochs;
+    }
+
+    /**
+     * Loads or bootstraps the model at startup, so the first prediction does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        ensureLoaded();
+    }
+
+    @Override
+    public SalaryPrediction predictSalary(StudentProfile studentProfile) {
+        if (studentProfile == null) {
+            return new SalaryPrediction(0, 0, 0);
+        }
+        SalaryModel model = ensureLoaded().model;
+
+        Set<String> skills = SkillParser.parseSkills(studentProfile.getSkills());
+        lock.readLock().lock();
+        try {
+            double[] range = model.predict(skills);
+            // Confidence grows with the share of skills the model has seen and with its training data
+            double confidence = model.knownSkillRatio(skills)
+                    * Math.min(1.0, model.getExamples() / CONFIDENT_EXAMPLES);
+            return new SalaryPrediction(range[0], range[1], confidence);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Object> predictSalaryForStudent(long studentId) {
+        Optional<StudentProfile> studentProfileOpt = studentProfileRepository.findByUserId(studentId);
+
+        // If profile not found, return default prediction with low confidence
+        if (studentProfileOpt.isEmpty()) {
+            Map<String, Object> defaultPrediction = new HashMap<>();
+            defaultPrediction.put("minSalary", 40000.0);
+            defaultPrediction.put("maxSalary", 60000.0);
+            defaultPrediction.put("confidenceScore", 0.3);
+            return defaultPrediction;
+        }
+
+        SalaryPrediction prediction = predictSalary(studentProfileOpt.get());
+        Map<String, Object> result = new HashMap<>();
+        result.put("minSalary", prediction.getMinSalary());
+        result.put("maxSalary", prediction.getMaxSalary());
+        result.put("confidenceScore", prediction.getConfidenceScore());
+        return result;
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        // Before the model is loaded, the snapshot or the bootstrap already accounts for this offer
+        ServingModel current = serving.get();
+        if (current == null || !hasSalaryRange(jobOffer)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            train(current.model, jobOffer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        // An SGD model cannot forget a single example; deleted offers fade out as new ones arrive
+    }
+
+    /**
+     * Publishes the serving model, including the online updates it received, as a new version.
+     *
+     * @return The published version
+     */
+    public long publishSnapshot() {
+        ServingModel current = ensureLoaded();
+        long version;
+        // The read lock holds back training steps while the weights are copied, not predictions
+        lock.readLock().lock();
+        try {
+            version = salaryModelStore.publish(current.model);
+        } finally {
+            lock.readLock().unlock();
+        }
+        serving.compareAndSet(current, new ServingModel(current.model, version));
+        return version;
+    }
+
+    /**
+     * Swaps in the latest published version if it is newer than the serving one. Online updates
+     * received since the serving version was loaded are dropped in favor of the published model.
+     *
+     * @return The serving version
+     */
+    @Scheduled(fixedDelayString = "${salary.model.reload-interval-ms:60000}",
+            initialDelayString = "${salary.model.reload-interval-ms:60000}")
+    public long reloadIfNewer() {
+        ServingModel current = serving.get();
+        if (current == null) {
+            // Not loaded yet, the startup load will read the latest version
+            return 0;
+        }
+        OptionalLong latest = salaryModelStore.latestVersion();
+        if (latest.isEmpty() || latest.getAsLong() <= current.version) {
+            return current.version;
+        }
+        // Loading happens outside any lock, requests keep using the current model until the swap
+        ServingModel loaded = new ServingModel(salaryModelStore.load(latest.getAsLong()), latest.getAsLong());
+        serving.compareAndSet(current, loaded);
+        return serving.get().version;
+    }
+
+    /**
+     * Returns the serving version and the number of examples the model was trained on.
+     */
+    public Map<String, Object> getModelInfo() {
+        ServingModel current = ensureLoaded();
+        Map<String, Object> info = new HashMap<>();
+        info.put("version", current.version);
+        lock.readLock().lock();
+        try {
+            info.put("examples", current.model.getExamples());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return info;
+    }
+
+    private ServingModel ensureLoaded() {
+        ServingModel current = serving.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (loadLock) {
+            current = serving.get();
+            if (current == null) {
+                OptionalLong latest = salaryModelStore.latestVersion();
+                if (latest.isPresent()) {
+                    current = new ServingModel(salaryModelStore.load(latest.getAsLong()), latest.getAsLong());
+                } else {
+                    SalaryModel model = bootstrap();
+                    current = new ServingModel(model, salaryModelStore.publish(model));
+                }
+                serving.set(current);
+            }
+            return current;
+        }
+    }
+
+    private SalaryModel bootstrap() {
+        SalaryModel model = new SalaryModel(dimensionBits, learningRate, l2);
+        List<JobOfferDto> jobOffers = new ArrayList<>();
+        for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+            if (hasSalaryRange(jobOffer)) {
+                jobOffers.add(jobOffer);
+            }
+        }
+        // Shuffled with a fixed seed, so every node bootstraps the same model
+        Random random = new Random(jobOffers.size());
+        for (int epoch = 0; epoch < bootstrapEpochs; epoch++) {
+            Collections.shuffle(jobOffers, random);
+            jobOffers.forEach(jobOffer -> train(model, jobOffer));
+        }
+        return model;
+    }
+
+    private static void train(SalaryModel model, JobOfferDto jobOffer) {
+        model.train(SkillParser.parseSkills(jobOffer.getSkills()), jobOffer.getSalaryMin(), jobOffer.getSalaryMax());
+    }
+
+    private static boolean hasSalaryRange(JobOfferDto jobOffer) {
+        return jobOffer.getSalaryMin() != null && jobOffer.getSalaryMax() != null
+                && jobOffer.getSalaryMax() >= jobOffer.getSalaryMin();
+    }
+
+    // A model and the published version it was loaded from, swapped as one reference
+    private static final class ServingModel {
+        private final SalaryModel model;
+        private final long version;
+
+        private ServingModel(SalaryModel model, long version) {
+            this.model = model;
+            this.version = version;
+        }
+    }
+}
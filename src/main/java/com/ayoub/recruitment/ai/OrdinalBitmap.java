@@ -0,0 +1,255 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ordinals. Sparse sets are kept as a sorted int array and switch
+ * to a plain bitmap of 64-bit words once that takes less memory, so a facet value shared by a few
+ * job offers costs a few bytes while a popular one costs one bit per job offer. Intersections,
+ * unions and cardinalities work on whichever form each operand has.
+ * Not thread-safe; callers synchronize access.
+ */
+public final class OrdinalBitmap {
+
+    // Sparse form, used while words is null
+    private int[] values;
+    private int size;
+
+    // Dense form
+    private long[] words;
+    private int cardinality;
+
+    public OrdinalBitmap() {
+        this.values = new int[4];
+    }
+
+    private OrdinalBitmap(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    private OrdinalBitmap(long[] words) {
+        this.words = words;
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.cardinality = count;
+    }
+
+    /**
+     * Returns a bitmap of distinct ordinals in ascending order. The bitmap takes over the array.
+     */
+    public static OrdinalBitmap ofSorted(int[] ordinals, int size) {
+        if (size == 0) {
+            return new OrdinalBitmap();
+        }
+        OrdinalBitmap bitmap = new OrdinalBitmap(ordinals, size);
+        if (size > denseBreakEven(ordinals[size - 1])) {
+            bitmap.toDense();
+        }
+        return bitmap;
+    }
+
+    public void add(int ordinal) {
+        if (words != null) {
+            ensureWords((ordinal >>> 6) + 1);
+            long bit = 1L << ordinal;
+            if ((words[ordinal >>> 6] & bit) == 0) {
+                words[ordinal >>> 6] |= bit;
+                cardinality++;
+            }
+            return;
+        }
+        int index = Arrays.binarySearch(values, 0, size, ordinal);
+        if (index >= 0) {
+            return;
+        }
+        int insertion = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+        values[insertion] = ordinal;
+        size++;
+        if (size > denseBreakEven(values[size - 1])) {
+            toDense();
+        }
+    }
+
+    public void remove(int ordinal) {
+        if (words != null) {
+            int word = ordinal >>> 6;
+            long bit = 1L << ordinal;
+            if (word < words.length && (words[word] & bit) != 0) {
+                words[word] &= ~bit;
+                cardinality--;
+                // Half the break-even point, so a set hovering around it does not flip on every write
+                if (cardinality < denseBreakEven(words.length * 64 - 1) / 2) {
+                    toSparse();
+                }
+            }
+            return;
+        }
+        int index = Arrays.binarySearch(values, 0, size, ordinal);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    public boolean contains(int ordinal) {
+        if (words != null) {
+            int word = ordinal >>> 6;
+            return word < words.length && (words[word] & (1L << ordinal)) != 0;
+        }
+        return Arrays.binarySearch(values, 0, size, ordinal) >= 0;
+    }
+
+    public int cardinality() {
+        return words != null ? cardinality : size;
+    }
+
+    public boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    /**
+     * Calls the consumer with every ordinal, in ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        if (words == null) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(values[i]);
+            }
+            return;
+        }
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                consumer.accept((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the ordinals present in both bitmaps.
+     */
+    public static OrdinalBitmap and(OrdinalBitmap a, OrdinalBitmap b) {
+        if (a.words != null && b.words != null) {
+            long[] words = new long[Math.min(a.words.length, b.words.length)];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = a.words[i] & b.words[i];
+            }
+            return new OrdinalBitmap(words).compact();
+        }
+        // Probe the other bitmap with every value of the sparse one
+        OrdinalBitmap sparse = a.words == null ? a : b;
+        OrdinalBitmap other = sparse == a ? b : a;
+        int[] values = new int[Math.max(1, sparse.size)];
+        int size = 0;
+        for (int i = 0; i < sparse.size; i++) {
+            if (other.contains(sparse.values[i])) {
+                values[size++] = sparse.values[i];
+            }
+        }
+        return new OrdinalBitmap(values, size);
+    }
+
+    /**
+     * Returns the number of ordinals present in both bitmaps, without building the intersection.
+     */
+    public static int andCardinality(OrdinalBitmap a, OrdinalBitmap b) {
+        if (a.words != null && b.words != null) {
+            int count = 0;
+            int length = Math.min(a.words.length, b.words.length);
+            for (int i = 0; i < length; i++) {
+                count += Long.bitCount(a.words[i] & b.words[i]);
+            }
+            return count;
+        }
+        OrdinalBitmap sparse = a.words == null ? a : b;
+        OrdinalBitmap other = sparse == a ? b : a;
+        int count = 0;
+        for (int i = 0; i < sparse.size; i++) {
+            if (other.contains(sparse.values[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the ordinals present in any of the bitmaps.
+     */
+    public static OrdinalBitmap or(Iterable<OrdinalBitmap> bitmaps) {
+        long[] words = new long[0];
+        for (OrdinalBitmap bitmap : bitmaps) {
+            if (bitmap.words != null) {
+                if (bitmap.words.length > words.length) {
+                    words = Arrays.copyOf(words, bitmap.words.length);
+                }
+                for (int i = 0; i < bitmap.words.length; i++) {
+                    words[i] |= bitmap.words[i];
+                }
+            } else {
+                for (int i = 0; i < bitmap.size; i++) {
+                    int ordinal = bitmap.values[i];
+                    if ((ordinal >>> 6) >= words.length) {
+                        words = Arrays.copyOf(words, Math.max((ordinal >>> 6) + 1, words.length * 2));
+                    }
+                    words[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+        }
+        return new OrdinalBitmap(words).compact();
+    }
+
+    // Number of values above which an int array takes more memory than a bitmap up to the largest value
+    private static int denseBreakEven(int maxOrdinal) {
+        return Math.max(16, ((maxOrdinal >>> 6) + 1) * 2);
+    }
+
+    private OrdinalBitmap compact() {
+        int maxOrdinal = -1;
+        for (int i = words.length - 1; i >= 0; i--) {
+            if (words[i] != 0) {
+                maxOrdinal = (i << 6) + 63 - Long.numberOfLeadingZeros(words[i]);
+                break;
+            }
+        }
+        if (cardinality <= denseBreakEven(Math.max(maxOrdinal, 0))) {
+            toSparse();
+        }
+        return this;
+    }
+
+    private void toDense() {
+        long[] dense = new long[(values[size - 1] >>> 6) + 1];
+        for (int i = 0; i < size; i++) {
+            dense[values[i] >>> 6] |= 1L << values[i];
+        }
+        words = dense;
+        cardinality = size;
+        values = null;
+        size = 0;
+    }
+
+    private void toSparse() {
+        int[] sparse = new int[Math.max(4, cardinality)];
+        int[] count = new int[1];
+        forEach(ordinal -> sparse[count[0]++] = ordinal);
+        values = sparse;
+        size = count[0];
+        words = null;
+        cardinality = 0;
+    }
+
+    private void ensureWords(int length) {
+        if (length > words.length) {
+            words = Arrays.copyOf(words, Math.max(length, words.length * 2));
+        }
+    }
+}
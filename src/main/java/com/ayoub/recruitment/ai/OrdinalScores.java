@@ -0,0 +1,85 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.Arrays;
+
+/**
+ * Scores accumulated per ordinal, in an open-addressing table sized for the documents a query
+ * visits rather than for the catalog, so scoring allocates in proportion to the postings read.
+ * Not thread-safe; callers synchronize access.
+ */
+public final class OrdinalScores {
+
+    // ordinal + 1 per slot, 0 for an empty slot
+    private final int[] keys;
+    private final double[] values;
+    private final int mask;
+    private int size;
+
+    /**
+     * @param expected Upper bound of the number of distinct ordinals that will be added
+     */
+    public OrdinalScores(int expected) {
+        // At most half full, so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.values = new double[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public void add(int ordinal, double score) {
+        int slot = slot(ordinal);
+        while (keys[slot] != 0 && keys[slot] != ordinal + 1) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = ordinal + 1;
+            size++;
+        }
+        values[slot] += score;
+    }
+
+    public double get(int ordinal) {
+        for (int slot = slot(ordinal); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == ordinal + 1) {
+                return values[slot];
+            }
+        }
+        return 0.0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calls the consumer once per scored ordinal, in no particular order.
+     */
+    public void forEach(Consumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot] - 1, values[slot]);
+            }
+        }
+    }
+
+    public OrdinalBitmap ordinals() {
+        int[] sorted = new int[size];
+        int count = 0;
+        for (int key : keys) {
+            if (key != 0) {
+                sorted[count++] = key - 1;
+            }
+        }
+        Arrays.sort(sorted);
+        return OrdinalBitmap.ofSorted(sorted, count);
+    }
+
+    private int slot(int ordinal) {
+        return (int) ((ordinal * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(int ordinal, double score);
+    }
+}
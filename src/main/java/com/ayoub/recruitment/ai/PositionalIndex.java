@@ -0,0 +1,322 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.*;
+
+/**
+ * Positional inverted index of the job offer fields, evaluating JobQuery trees. Posting lists are
+ * kept sorted by document ordinal, so AND is a merge of the shortest list against the others,
+ * which jump ahead through skip pointers every sqrt(n) postings instead of scanning every one:
+ * adding a rare term to a query makes it cheaper. Phrases are checked on the term positions of
+ * the documents containing all their words.
+ * Owned by JobSearchIndex, which guards it with its lock.
+ */
+final class PositionalIndex {
+
+    private final List<Map<String, FieldPostings>> fields = new ArrayList<>();
+
+    // Ordinals of the indexed documents, the universe NOT clauses subtract from
+    private final FieldPostings documents = new FieldPostings();
+
+    // Distinct terms of each field of each document, to remove it
+    private String[][][] documentTerms = new String[256][][];
+
+    PositionalIndex() {
+        for (int field = 0; field < JobQuery.FIELD_COUNT; field++) {
+            fields.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Indexes a document.
+     *
+     * @param fieldTokens Tokens of each field, in the order of the JobQuery field constants
+     */
+    void add(int ordinal, List<List<String>> fieldTokens) {
+        if (ordinal >= documentTerms.length) {
+            documentTerms = Arrays.copyOf(documentTerms, Math.max(ordinal + 1, documentTerms.length * 2));
+        }
+        String[][] terms = new String[JobQuery.FIELD_COUNT][];
+        for (int field = 0; field < JobQuery.FIELD_COUNT; field++) {
+            Map<String, List<Integer>> positions = new LinkedHashMap<>();
+            List<String> tokens = fieldTokens.get(field);
+            for (int position = 0; position < tokens.size(); position++) {
+                positions.computeIfAbsent(tokens.get(position), term -> new ArrayList<>()).add(position);
+            }
+            Map<String, FieldPostings> postings = fields.get(field);
+            positions.forEach((term, termPositions) -> postings.computeIfAbsent(term, key -> new FieldPostings())
+                    .add(ordinal, termPositions.stream().mapToInt(Integer::intValue).toArray()));
+            terms[field] = positions.keySet().toArray(new String[0]);
+        }
+        documentTerms[ordinal] = terms;
+        documents.add(ordinal, null);
+    }
+
+    void remove(int ordinal) {
+        String[][] terms = documentTerms[ordinal];
+        for (int field = 0; field < JobQuery.FIELD_COUNT; field++) {
+            Map<String, FieldPostings> postings = fields.get(field);
+            for (String term : terms[field]) {
+                FieldPostings termPostings = postings.get(term);
+                termPostings.remove(ordinal);
+                if (termPostings.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        documentTerms[ordinal] = null;
+        documents.remove(ordinal);
+    }
+
+    /**
+     * Returns the number of occurrences of a term in a field of a document.
+     */
+    int frequency(int field, String term, int ordinal) {
+        FieldPostings postings = fields.get(field).get(term);
+        int[] positions = postings != null ? postings.positionsOf(ordinal) : null;
+        return positions != null ? positions.length : 0;
+    }
+
+    /**
+     * Returns the documents matching a query.
+     */
+    OrdinalBitmap evaluate(JobQuery.Node query) {
+        Ordinals matches = query != null ? evaluateNode(query) : Ordinals.EMPTY;
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (int i = 0; i < matches.size; i++) {
+            bitmap.add(matches.values[i]);
+        }
+        return bitmap;
+    }
+
+    private Ordinals evaluateNode(JobQuery.Node node) {
+        if (node instanceof JobQuery.Term) {
+            return evaluateTerm((JobQuery.Term) node);
+        }
+        if (node instanceof JobQuery.Not) {
+            return difference(documents.view(), evaluateNode(((JobQuery.Not) node).clause));
+        }
+        if (node instanceof JobQuery.Or) {
+            Ordinals union = Ordinals.EMPTY;
+            for (JobQuery.Node clause : ((JobQuery.Or) node).clauses) {
+                union = union(union, evaluateNode(clause));
+            }
+            return union;
+        }
+
+        List<Ordinals> required = new ArrayList<>();
+        List<JobQuery.Node> excluded = new ArrayList<>();
+        for (JobQuery.Node clause : ((JobQuery.And) node).clauses) {
+            if (clause instanceof JobQuery.Not) {
+                excluded.add(((JobQuery.Not) clause).clause);
+            } else {
+                required.add(evaluateNode(clause));
+            }
+        }
+        Ordinals result = required.isEmpty() ? documents.view() : intersect(required);
+        for (int i = 0; i < excluded.size() && result.size > 0; i++) {
+            result = difference(result, evaluateNode(excluded.get(i)));
+        }
+        return result;
+    }
+
+    private Ordinals evaluateTerm(JobQuery.Term term) {
+        if (term.field != JobQuery.ANY_FIELD) {
+            return evaluateTerm(term, term.field);
+        }
+        Ordinals union = Ordinals.EMPTY;
+        for (int field = 0; field < JobQuery.FIELD_COUNT; field++) {
+            union = union(union, evaluateTerm(term, field));
+        }
+        return union;
+    }
+
+    private Ordinals evaluateTerm(JobQuery.Term term, int field) {
+        Map<String, FieldPostings> postings = fields.get(field);
+        FieldPostings[] lists = new FieldPostings[term.tokens.length];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(term.tokens[i]);
+            if (lists[i] == null) {
+                return Ordinals.EMPTY;
+            }
+        }
+        if (lists.length == 1) {
+            return lists[0].view();
+        }
+
+        List<Ordinals> views = new ArrayList<>();
+        for (FieldPostings list : lists) {
+            views.add(list.view());
+        }
+        Ordinals candidates = intersect(views);
+        int[] phrases = new int[candidates.size];
+        int size = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            if (containsPhrase(lists, candidates.values[i])) {
+                phrases[size++] = candidates.values[i];
+            }
+        }
+        return new Ordinals(phrases, size);
+    }
+
+    // Whether the words appear one after the other somewhere in the document
+    private static boolean containsPhrase(FieldPostings[] lists, int ordinal) {
+        int[][] positions = new int[lists.length][];
+        for (int i = 0; i < lists.length; i++) {
+            positions[i] = lists[i].positionsOf(ordinal);
+        }
+        for (int start : positions[0]) {
+            int i = 1;
+            while (i < positions.length && Arrays.binarySearch(positions[i], start + i) >= 0) {
+                i++;
+            }
+            if (i == positions.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Shortest list first, so every step probes the longer lists with fewer candidates
+    private static Ordinals intersect(List<Ordinals> lists) {
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Ordinals result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.size > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static Ordinals intersect(Ordinals shorter, Ordinals longer) {
+        int[] values = new int[shorter.size];
+        int size = 0;
+        int skip = skipInterval(longer.size);
+        int j = 0;
+        for (int i = 0; i < shorter.size && j < longer.size; i++) {
+            int value = shorter.values[i];
+            j = advance(longer, j, skip, value);
+            if (j < longer.size && longer.values[j] == value) {
+                values[size++] = value;
+            }
+        }
+        return new Ordinals(values, size);
+    }
+
+    private static Ordinals difference(Ordinals from, Ordinals excluded) {
+        int[] values = new int[from.size];
+        int size = 0;
+        int skip = skipInterval(excluded.size);
+        int j = 0;
+        for (int i = 0; i < from.size; i++) {
+            int value = from.values[i];
+            j = advance(excluded, j, skip, value);
+            if (j >= excluded.size || excluded.values[j] != value) {
+                values[size++] = value;
+            }
+        }
+        return new Ordinals(values, size);
+    }
+
+    private static Ordinals union(Ordinals a, Ordinals b) {
+        if (a.size == 0) {
+            return b;
+        }
+        if (b.size == 0) {
+            return a;
+        }
+        int[] values = new int[a.size + b.size];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.values[i] < b.values[j])) {
+                values[size++] = a.values[i++];
+            } else if (i == a.size || b.values[j] < a.values[i]) {
+                values[size++] = b.values[j++];
+            } else {
+                values[size++] = a.values[i++];
+                j++;
+            }
+        }
+        return new Ordinals(values, size);
+    }
+
+    // Returns the index of the first value not below the target, from index start on
+    private static int advance(Ordinals list, int start, int skip, int target) {
+        int j = start;
+        // Follow skip pointers while the posting they lead to is still below the target
+        while (j + skip < list.size && list.values[j + skip] < target) {
+            j += skip;
+        }
+        while (j < list.size && list.values[j] < target) {
+            j++;
+        }
+        return j;
+    }
+
+    // Skip pointers are implicit: a sorted array can jump to any posting, so every sqrt(n)-th one is a pointer
+    private static int skipInterval(int size) {
+        return Math.max(1, (int) Math.sqrt(size));
+    }
+
+    /**
+     * A sorted run of ordinals; views of posting lists share their array.
+     */
+    private static final class Ordinals {
+        static final Ordinals EMPTY = new Ordinals(new int[0], 0);
+
+        final int[] values;
+        final int size;
+
+        Ordinals(int[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Documents containing a term in one field, sorted by ordinal, with the term positions in each.
+     */
+    private static final class FieldPostings {
+        private int[] ordinals = new int[4];
+        private int[][] positions = new int[4][];
+        private int size;
+
+        void add(int ordinal, int[] termPositions) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                positions[index] = termPositions;
+                return;
+            }
+            int insertion = -index - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            System.arraycopy(ordinals, insertion, ordinals, insertion + 1, size - insertion);
+            System.arraycopy(positions, insertion, positions, insertion + 1, size - insertion);
+            ordinals[insertion] = ordinal;
+            positions[insertion] = termPositions;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+            size--;
+            positions[size] = null;
+        }
+
+        int[] positionsOf(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            return index >= 0 ? positions[index] : null;
+        }
+
+        Ordinals view() {
+            return new Ordinals(ordinals, size);
+        }
+    }
+}
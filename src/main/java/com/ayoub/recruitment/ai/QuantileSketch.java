@@ -0,0 +1,186 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Mergeable quantile sketch in the style of KLL: values are kept in levels of compactors, where
+ * an item at level h stands for 2^h inserted values. When a level fills up it is sorted and every
+ * other item is promoted to the next level. Level capacities shrink by 2/3 below the top one, so a
+ * sketch holds at most about 3 * k items, plus up to MIN_CAPACITY per level, however many values
+ * are added: about 600 items at the default k of 200. The rank error is about 1.7 / k.
+ * Not thread-safe; callers synchronize access.
+ */
+public final class QuantileSketch {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private final Random random;
+
+    private double[][] levels = new double[1][MIN_CAPACITY];
+    private int[] sizes = new int[1];
+    private int levelCount = 1;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(int k) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY);
+        }
+        this.k = k;
+        // Seeded, so sketches built from the same values in the same order are identical
+        this.random = new Random(k);
+    }
+
+    /**
+     * Adds a value to the sketch.
+     */
+    public void update(double value) {
+        append(0, value);
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        compress();
+    }
+
+    /**
+     * Adds every value summarized by another sketch to this one.
+     */
+    public void merge(QuantileSketch other) {
+        for (int level = 0; level < other.levelCount; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+    }
+
+    /**
+     * Estimates several quantiles at once, sorting the retained items a single time.
+     *
+     * @param fractions Quantiles between 0 and 1
+     * @return The estimated values, in the order of the fractions; NaN if the sketch is empty
+     */
+    public double[] quantiles(double... fractions) {
+        double[] result = new double[fractions.length];
+        if (count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+
+        int retained = 0;
+        for (int level = 0; level < levelCount; level++) {
+            retained += sizes[level];
+        }
+        // Items are sorted through an index array, so each one keeps the weight of its level
+        double[] values = new double[retained];
+        int[] itemLevels = new int[retained];
+        Integer[] order = new Integer[retained];
+        int item = 0;
+        for (int level = 0; level < levelCount; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[item] = levels[level][i];
+                itemLevels[item] = level;
+                order[item] = item;
+                item++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        for (int f = 0; f < fractions.length; f++) {
+            double fraction = fractions[f];
+            if (fraction <= 0.0) {
+                result[f] = min;
+                continue;
+            }
+            if (fraction >= 1.0) {
+                result[f] = max;
+                continue;
+            }
+            double targetRank = fraction * count;
+            long rank = 0;
+            result[f] = max;
+            for (Integer index : order) {
+                rank += 1L << itemLevels[index];
+                if (rank >= targetRank) {
+                    result[f] = values[index];
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    private void append(int level, double value) {
+        if (level == levelCount) {
+            if (levelCount == levels.length) {
+                levels = Arrays.copyOf(levels, levelCount * 2);
+                sizes = Arrays.copyOf(sizes, levelCount * 2);
+            }
+            levels[levelCount] = new double[MIN_CAPACITY];
+            levelCount++;
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    // Lower levels get geometrically smaller capacities, so most of the memory holds heavy items
+    private int capacity(int level) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void compress() {
+        boolean compacted = true;
+        while (compacted) {
+            compacted = false;
+            for (int level = 0; level < levelCount; level++) {
+                if (sizes[level] >= capacity(level)) {
+                    compact(level);
+                    compacted = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    // Promotes every other sorted item to the next level, starting at a random parity to keep ranks unbiased
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        int pairs = size / 2 * 2;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = offset; i < pairs; i += 2) {
+            append(level + 1, items[i]);
+        }
+        // An odd item out stays at this level with its weight
+        if (pairs < size) {
+            levels[level][0] = levels[level][size - 1];
+            sizes[level] = 1;
+        } else {
+            sizes[level] = 0;
+        }
+    }
+}
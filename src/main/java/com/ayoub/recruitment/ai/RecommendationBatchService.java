@@ -0,0 +1,185 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.StudentRecommendation;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.repository.StudentRecommendationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputes the top recommendations of every student into the student_recommendations table.
+ * The batch runs nightly and scores student id ranges in parallel on a ForkJoinPool, so
+ * /ai/recommend can serve precomputed rows instead of scoring the catalog on every login.
+ */
+@Service
+public class RecommendationBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationBatchService.class);
+
+    private final StudentProfileRepository studentProfileRepository;
+    private final StudentRecommendationRepository studentRecommendationRepository;
+    private final JobMatcher jobMatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${recommendations.batch.top-n:50}")
+    private int topN;
+
+    @Value("${recommendations.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${recommendations.batch.parallelism:0}")
+    private int parallelism;
+
+    public RecommendationBatchService(StudentProfileRepository studentProfileRepository,
+                                      StudentRecommendationRepository studentRecommendationRepository,
+                                      JobMatcher jobMatcher,
+                                      PlatformTransactionManager transactionManager) {
+        this.studentProfileRepository = studentProfileRepository;
+        this.studentRecommendationRepository = studentRecommendationRepository;
+        this.jobMatcher = jobMatcher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${recommendations.batch.cron:0 0 3 * * *}")
+    public void runNightly() {
+        runBatch();
+    }
+
+    /**
+     * Scores every student profile against the catalog and replaces their precomputed recommendations.
+     *
+     * @return The number of students processed, or -1 if a batch is already running
+     */
+    public int runBatch() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            Long minId = studentProfileRepository.findMinId();
+            Long maxId = studentProfileRepository.findMaxId();
+            if (minId == null || maxId == null) {
+                return 0;
+            }
+
+            // Rows are stamped with the start of the run, so profiles edited during the run count as stale
+            LocalDateTime computedAt = LocalDateTime.now();
+            AtomicInteger processed = new AtomicInteger();
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new ScoreRange(minId, maxId, computedAt, processed));
+            } finally {
+                pool.shutdown();
+            }
+
+            log.info("Precomputed recommendations for {} students", processed.get());
+            return processed.get();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Returns a page of precomputed recommendations if they are still valid for the profile.
+     *
+     * @param studentProfile The student profile
+     * @param offset Number of top recommendations to skip
+     * @param limit Maximum number of recommendations to return
+     * @return Ranked job offer ids, or empty if the page has to be scored live
+     */
+    public Optional<List<Long>> findPrecomputedJobIds(StudentProfile studentProfile, int offset, int limit) {
+        List<StudentRecommendation> rows = studentRecommendationRepository
+                .findByStudentIdOrderByPositionAsc(studentProfile.getUser().getId());
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // The profile changed since the last run
+        LocalDateTime computedAt = rows.get(0).getComputedAt();
+        if (studentProfile.getUpdatedAt() != null && studentProfile.getUpdatedAt().isAfter(computedAt)) {
+            return Optional.empty();
+        }
+
+        // A full row set may have been truncated at top-n, so deeper pages are scored live
+        if (rows.size() >= topN && (long) offset + limit > rows.size()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(rows.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(StudentRecommendation::getJobOfferId)
+                .collect(Collectors.toList()));
+    }
+
+    private void scoreChunk(long fromId, long toId, LocalDateTime computedAt, AtomicInteger processed) {
+        List<StudentProfile> profiles = studentProfileRepository.findByIdBetween(fromId, toId);
+        if (profiles.isEmpty()) {
+            return;
+        }
+
+        List<Long> studentIds = new ArrayList<>(profiles.size());
+        List<StudentRecommendation> rows = new ArrayList<>();
+        for (StudentProfile profile : profiles) {
+            Long studentId = profile.getUser().getId();
+            studentIds.add(studentId);
+
+            List<TopK.Scored<Long>> matches = jobMatcher.findTopMatches(profile, topN);
+            for (int position = 0; position < matches.size(); position++) {
+                TopK.Scored<Long> match = matches.get(position);
+                rows.add(new StudentRecommendation(null, studentId, match.getItem(), position,
+                        match.getScore(), computedAt));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            studentRecommendationRepository.deleteByStudentIdIn(studentIds);
+            studentRecommendationRepository.saveAll(rows);
+        });
+        processed.addAndGet(profiles.size());
+    }
+
+    /**
+     * Scores a range of student profile ids, splitting it until it fits in one chunk.
+     */
+    private class ScoreRange extends RecursiveAction {
+
+        private final long fromId;
+        private final long toId;
+        private final LocalDateTime computedAt;
+        private final AtomicInteger processed;
+
+        ScoreRange(long fromId, long toId, LocalDateTime computedAt, AtomicInteger processed) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.computedAt = computedAt;
+            this.processed = processed;
+        }
+
+        @Override
+        protected void compute() {
+            if (toId - fromId < chunkSize) {
+                scoreChunk(fromId, toId, computedAt, processed);
+                return;
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            invokeAll(new ScoreRange(fromId, middle, computedAt, processed),
+                    new ScoreRange(middle + 1, toId, computedAt, processed));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.service.JobOfferListener;
+import com.ayoub.recruitment.service.StudentProfileListener;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of recommendation pages with size and TTL eviction.
+ * Entries are keyed by the student's profile version and the catalog version, so a profile
+ * update or any job offer write makes the affected entries unreachable right away.
+ */
+@Component
+public class RecommendationCache implements JobOfferListener, StudentProfileListener {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    // student user id -> number of profile updates seen
+    private final Map<Long, Long> profileVersions = new ConcurrentHashMap<>();
+
+    // Access-ordered, so the eldest entry is the least recently used one; guarded by itself
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RecommendationCache(@Value("${recommendations.cache.max-size:10000}") int maxSize,
+                               @Value("${recommendations.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Returns the cached recommendation page of a student, computing and caching it on a miss.
+     *
+     * @param studentProfile The student profile
+     * @param offset Number of top recommendations skipped
+     * @param limit Maximum number of recommendations
+     * @param loader Computes the page on a cache miss
+     * @return The recommendation page
+     */
+    public List<JobOfferDto> get(StudentProfile studentProfile, int offset, int limit,
+                                 Supplier<List<JobOfferDto>> loader) {
+        Long studentId = studentProfile.getUser().getId();
+        // Versions are read before computing, so a page computed across an update is stored under the old key
+        Key key = new Key(studentId, profileVersions.getOrDefault(studentId, 0L), catalogVersion.get(), offset, limit);
+
+        List<JobOfferDto> cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        List<JobOfferDto> recommendations = List.copyOf(loader.get());
+        store(key, recommendations);
+        return recommendations;
+    }
+
+    /**
+     * Returns the cache counters.
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("size", size);
+        stats.put("hitRate", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        return stats;
+    }
+
+    @Override
+    public void onStudentProfileSaved(StudentProfile studentProfile) {
+        profileVersions.merge(studentProfile.getUser().getId(), 1L, Long::sum);
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        invalidateCatalog();
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        invalidateCatalog();
+    }
+
+    // Every cached page depends on the catalog, so all entries are stale at once
+    private void invalidateCatalog() {
+        catalogVersion.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private List<JobOfferDto> lookup(Key key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.createdAt > ttlMillis) {
+                entries.remove(key);
+                evictions.increment();
+                return null;
+            }
+            return entry.recommendations;
+        }
+    }
+
+    private void store(Key key, List<JobOfferDto> recommendations) {
+        synchronized (entries) {
+            entries.put(key, new Entry(recommendations, System.currentTimeMillis()));
+            while (entries.size() > maxSize) {
+                Key eldest = entries.keySet().iterator().next();
+                entries.remove(eldest);
+                evictions.increment();
+            }
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final Long studentId;
+        private final long profileVersion;
+        private final long catalogVersion;
+        private final int offset;
+        private final int limit;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final List<JobOfferDto> recommendations;
+        private final long createdAt;
+    }
+}
@@ -1,7 +1,6 @@
 package com.ayoub.recruitment.ai;
 
 import com.ayoub.recruitment.dto.JobOfferDto;
-import com.ayoub.recruitment.model.JobOffer;
 import com.ayoub.recruitment.model.StudentProfile;
 
 import java.util.List;
@@ -22,6 +21,19 @@ public interface RecommendationService {
      */
     List<JobOfferDto> recommendJobs(StudentProfile studentProfile, List<JobOfferDto> availableJobs, int limit);
     
+    /**
+     * Returns one page of job recommendations. Jobs with equal scores are ordered by id,
+     * so consecutive pages neither overlap nor skip jobs. Jobs that do not match the student
+     * at all are left out, as they are from the precomputed recommendations.
+     * 
+     * @param studentProfile The student profile to analyze
+     * @param availableJobs List of available job offers
+     * @param offset Number of top recommendations to skip
+     * @param limit Maximum number of recommendations to return
+     * @return List of recommended job offers sorted by relevance
+     */
+    List<JobOfferDto> recommendJobs(StudentProfile studentProfile, List<JobOfferDto> availableJobs, int offset, int limit);
+    
     /**
      * Extracts skills from a resume text.
      * 
@@ -45,5 +57,14 @@ public interface RecommendationService {
      * @param studentId The user ID of the student
      * @return List of recommended job offers sorted by relevance
      */
-    List<JobOffer> getRecommendationsForStudent(long studentId);
+    List<JobOfferDto> getRecommendationsForStudent(long studentId);
+    
+    /**
+     * Get the best matching job recommendations for a student based on their user ID.
+     * 
+     * @param studentId The user ID of the student
+     * @param limit Maximum number of recommendations to return
+     * @return List of recommended job offers sorted by relevance
+     */
+    List<JobOfferDto> getRecommendationsForStudent(long studentId, int limit);
 }
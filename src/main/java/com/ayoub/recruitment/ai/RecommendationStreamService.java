@@ -0,0 +1,71 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.RecommendationSnapshot;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.service.JobOfferService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Scores the catalog chunk by chunk and publishes the best recommendations found so far after
+ * each chunk, so clients see results long before the whole catalog has been scored.
+ */
+@Service
+public class RecommendationStreamService {
+
+    private final RecommendationService recommendationService;
+    private final JobOfferService jobOfferService;
+    private final int chunkSize;
+
+    public RecommendationStreamService(RecommendationService recommendationService,
+                                       JobOfferService jobOfferService,
+                                       @Value("${recommendations.stream.chunk-size:500}") int chunkSize) {
+        this.recommendationService = recommendationService;
+        this.jobOfferService = jobOfferService;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Streams progressively refined recommendations of a student.
+     * A partial snapshot is published after every chunk that changed the top results, and a
+     * final snapshot marked complete once the whole catalog has been scored.
+     *
+     * @param studentProfile The student profile
+     * @param limit Maximum number of recommendations per snapshot
+     * @param sink Receives the snapshots, in order
+     */
+    public void streamRecommendations(StudentProfile studentProfile, int limit,
+                                      Consumer<RecommendationSnapshot> sink) {
+        TopK<JobOfferDto> topJobs = new TopK<>(limit);
+        int scanned = 0;
+        long lastId = 0;
+
+        // Keyset paging on the id, so later chunks cost the same as the first one
+        List<JobOfferDto> chunk = jobOfferService.getJobOffersAfterId(lastId, chunkSize);
+        while (!chunk.isEmpty()) {
+            boolean changed = false;
+            for (JobOfferDto job : chunk) {
+                double score = recommendationService.calculateMatchScore(studentProfile, job);
+                if (score > 0.0) {
+                    changed |= topJobs.offer(job, job.getId(), score);
+                }
+            }
+            scanned += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            if (changed) {
+                sink.accept(new RecommendationSnapshot(scanned, false, topJobs.page(0)));
+            }
+            chunk = jobOfferService.getJobOffersAfterId(lastId, chunkSize);
+        }
+
+        sink.accept(new RecommendationSnapshot(scanned, true, topJobs.page(0)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.config.FileStorageConfig.FileStorageService;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Extracts skills from resumes stored by FileStorageService, in the formats ResumeTextExtractor
+ * reads. The text is streamed through the skill automaton in fixed-size chunks, so the cost in memory
+ * does not depend on the size of the resume.
+ */
+@Service
+public class ResumeAnalysisService {
+
+    private final FileStorageService fileStorageService;
+    private final ResumeTextExtractor resumeTextExtractor;
+    private final SkillExtractor skillExtractor;
+
+    public ResumeAnalysisService(FileStorageService fileStorageService, ResumeTextExtractor resumeTextExtractor,
+                                 SkillExtractor skillExtractor) {
+        this.fileStorageService = fileStorageService;
+        this.resumeTextExtractor = resumeTextExtractor;
+        this.skillExtractor = skillExtractor;
+    }
+
+    public boolean resumeExists(String filename) {
+        return fileStorageService.exists(filename);
+    }
+
+    /**
+     * Whether skills can be extracted from a resume in this format.
+     */
+    public boolean isSupported(String filename) {
+        return resumeTextExtractor.supports(filename);
+    }
+
+    /**
+     * Extracts skills from a stored resume, reading the text cached by {@link #analyze(String)} when
+     * there is one, so only resumes that were never analyzed are extracted again.
+     *
+     * @param filename Name of the file returned by the upload
+     * @return Distinct extracted skills, in order of first occurrence
+     */
+    public List<String> extractSkills(String filename) {
+        String extractedText = extractedTextFilename(filename);
+        try (Reader reader = fileStorageService.exists(extractedText)
+                ? fileStorageService.openReader(extractedText)
+                : resumeTextExtractor.openText(filename)) {
+            return skillExtractor.extractSkills(reader);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read resume: " + filename, e);
+        }
+    }
+
+    /**
+     * Extracts the text and skills of a stored resume in a single pass, caching the extracted text
+     * next to the resume so later processing does not have to extract it again.
+     *
+     * @param filename Name of the file returned by the upload
+     * @return Distinct extracted skills, in order of first occurrence
+     */
+    public List<String> analyze(String filename) {
+        String extractedText = extractedTextFilename(filename);
+        String partialText = extractedText + ".part";
+        List<String> skills;
+        try (Reader reader = resumeTextExtractor.openText(filename);
+             Writer copy = fileStorageService.openWriter(partialText)) {
+            skills = skillExtractor.extractSkills(new TeeReader(reader, copy));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read resume: " + filename, e);
+        }
+        // Only a complete copy replaces the cached text, so extractSkills never reads a truncated one
+        fileStorageService.move(partialText, extractedText);
+        return skills;
+    }
+
+    public static String extractedTextFilename(String filename) {
+        return filename + ".txt";
+    }
+
+    /**
+     * Copies everything read to a writer.
+     */
+    private static final class TeeReader extends FilterReader {
+
+        private final Writer copy;
+
+        TeeReader(Reader in, Writer copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c != -1) {
+                copy.write(c);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                copy.write(buffer, offset, read);
+            }
+            return read;
+        }
+    }
+}
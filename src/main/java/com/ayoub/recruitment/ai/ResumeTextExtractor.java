@@ -0,0 +1,183 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.config.FileStorageConfig.FileStorageService;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the text of stored resumes. Plain text files are decoded as UTF-8, and DOCX files are
+ * unzipped and their document body parsed as it is read, so neither is loaded on the heap.
+ * PDF and legacy DOC resumes are binary formats this extractor does not read: they are stored,
+ * but skills are not extracted from them.
+ */
+@Component
+public class ResumeTextExtractor {
+
+    private static final Set<String> TEXT_EXTENSIONS = Set.of("txt", "text", "md");
+    private static final String DOCX_EXTENSION = "docx";
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final String WORD_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final FileStorageService fileStorageService;
+    private final XMLInputFactory xmlInputFactory;
+
+    public ResumeTextExtractor(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+        this.xmlInputFactory = XMLInputFactory.newInstance();
+        // Uploaded documents are untrusted
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Whether text can be extracted from a resume, judging by the extension of its filename.
+     */
+    public boolean supports(String filename) {
+        String extension = extension(filename);
+        return TEXT_EXTENSIONS.contains(extension) || DOCX_EXTENSION.equals(extension);
+    }
+
+    /**
+     * Opens a reader over the text of a stored resume.
+     *
+     * @throws RuntimeException If the format is not supported or the file cannot be read
+     */
+    public Reader openText(String filename) {
+        String extension = extension(filename);
+        if (TEXT_EXTENSIONS.contains(extension)) {
+            return fileStorageService.openReader(filename);
+        }
+        if (DOCX_EXTENSION.equals(extension)) {
+            return openDocx(filename);
+        }
+        throw new RuntimeException("Unsupported resume format: " + filename + ", upload a DOCX or plain text resume");
+    }
+
+    private Reader openDocx(String filename) {
+        InputStream file = fileStorageService.openInputStream(filename);
+        try {
+            ZipInputStream zip = new ZipInputStream(file);
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (DOCX_BODY.equals(entry.getName())) {
+                    return new DocxBodyReader(zip, xmlInputFactory.createXMLStreamReader(zip));
+                }
+            }
+            zip.close();
+            throw new RuntimeException("Not a DOCX document: " + filename);
+        } catch (IOException | XMLStreamException e) {
+            closeQuietly(file);
+            throw new RuntimeException("Could not read file: " + filename, e);
+        }
+    }
+
+    private static String extension(String filename) {
+        int dot = filename != null ? filename.lastIndexOf('.') : -1;
+        return dot >= 0 ? filename.substring(dot + 1).toLowerCase() : "";
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Already failing
+        }
+    }
+
+    /**
+     * Text of a WordprocessingML body: the content of its text runs, with paragraphs and breaks
+     * as line breaks and tabs as tabs. Events are pulled from the parser only as text is read.
+     */
+    private static final class DocxBodyReader extends Reader {
+
+        private final InputStream zip;
+        private final XMLStreamReader xml;
+        private final StringBuilder pending = new StringBuilder();
+        private int position;
+        private boolean inText;
+        private boolean ended;
+
+        private DocxBodyReader(InputStream zip, XMLStreamReader xml) {
+            this.zip = zip;
+            this.xml = xml;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position == pending.length()) {
+                if (ended) {
+                    return -1;
+                }
+                pending.setLength(0);
+                position = 0;
+                fill();
+            }
+            int read = Math.min(length, pending.length() - position);
+            pending.getChars(position, position + read, buffer, offset);
+            position += read;
+            return read;
+        }
+
+        // Appends the text of the next parser event, if any
+        private void fill() throws IOException {
+            try {
+                if (!xml.hasNext()) {
+                    ended = true;
+                    return;
+                }
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORD_NAMESPACE.equals(xml.getNamespaceURI())) {
+                    switch (xml.getLocalName()) {
+                        case "t":
+                            inText = true;
+                            break;
+                        case "tab":
+                            pending.append('\t');
+                            break;
+                        case "br":
+                        case "cr":
+                            pending.append('\n');
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORD_NAMESPACE.equals(xml.getNamespaceURI())) {
+                    if ("t".equals(xml.getLocalName())) {
+                        inText = false;
+                    } else if ("p".equals(xml.getLocalName())) {
+                        pending.append('\n');
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    pending.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                } else if (event == XMLStreamConstants.END_DOCUMENT) {
+                    ended = true;
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("Malformed DOCX document", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (XMLStreamException ignored) {
+                // The stream below is closed anyway
+            } finally {
+                zip.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.StudentSalaryPredictionDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Predicts the salaries of a whole cohort of students. Profiles are loaded with a single query,
+ * then predicted in parallel one chunk at a time, and every chunk is handed over as soon as it is
+ * done, so the caller can stream results while the next chunk is predicted.
+ */
+@Service
+public class SalaryBatchService {
+
+    private final StudentProfileRepository studentProfileRepository;
+    private final SalaryPredictionService salaryPredictionService;
+    private final ForkJoinPool pool;
+
+    @Value("${salary.batch.max-students:10000}")
+    private int maxStudents;
+
+    @Value("${salary.batch.chunk-size:256}")
+    private int chunkSize;
+
+    public SalaryBatchService(StudentProfileRepository studentProfileRepository,
+                              SalaryPredictionService salaryPredictionService,
+                              @Value("${salary.batch.parallelism:0}") int parallelism) {
+        this.studentProfileRepository = studentProfileRepository;
+        this.salaryPredictionService = salaryPredictionService;
+        // A dedicated pool, so cohort predictions do not starve the common pool
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getMaxStudents() {
+        return maxStudents;
+    }
+
+    /**
+     * Predicts the salary of every student of a cohort.
+     *
+     * @param studentIds User ids of the students; duplicates are predicted once
+     * @param listener Receives the predictions in the order of the ids, on the calling thread
+     */
+    public void predictCohort(Collection<Long> studentIds, Consumer<StudentSalaryPredictionDto> listener) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (ids.size() > maxStudents) {
+            throw new IllegalArgumentException("At most " + maxStudents + " students per batch");
+        }
+
+        Map<Long, StudentProfile> profilesByUserId = studentProfileRepository.findByUserIdIn(ids).stream()
+                .collect(Collectors.toMap(profile -> profile.getUser().getId(), profile -> profile, (a, b) -> a));
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            // A parallel stream started inside the pool runs on the pool's workers
+            List<StudentSalaryPredictionDto> predictions = pool.submit(() -> chunk.parallelStream()
+                    .map(studentId -> predict(studentId, profilesByUserId.get(studentId)))
+                    .collect(Collectors.toList())).join();
+            predictions.forEach(listener);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private StudentSalaryPredictionDto predict(Long studentId, StudentProfile studentProfile) {
+        if (studentProfile == null) {
+            return new StudentSalaryPredictionDto(studentId, false, null, null, null);
+        }
+        SalaryPredictionService.SalaryPrediction prediction = salaryPredictionService.predictSalary(studentProfile);
+        return new StudentSalaryPredictionDto(studentId, true, prediction.getMinSalary(),
+                prediction.getMaxSalary(), prediction.getConfidenceScore());
+    }
+}
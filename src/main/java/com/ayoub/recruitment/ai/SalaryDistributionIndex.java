@@ -0,0 +1,254 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.SalaryDistributionDto;
+import com.ayoub.recruitment.service.JobCatalog;
+import com.ayoub.recruitment.service.JobOfferListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Salary distributions of the job offers per skill and per company, kept as quantile sketches so
+ * a query costs the same whatever the size of the catalog. Sketches are built from the JobCatalog
+ * on first use and then fed by JobOfferService writes.
+ * A sketch cannot forget a value, so an edited or deleted offer keeps counting until the next
+ * rebuild, which runs periodically once such changes have been seen.
+ */
+@Component
+public class SalaryDistributionIndex implements JobOfferListener {
+
+    private final JobCatalog jobCatalog;
+    private final int sketchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    // Guarded by the lock and replaced as a whole on rebuild
+    private Distributions distributions;
+
+    // Writes not reflected exactly in the sketches, and writes seen at all, to detect writes during a rebuild
+    private final AtomicLong staleWrites = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    public SalaryDistributionIndex(JobCatalog jobCatalog,
+                                   @Value("${salary.distribution.sketch-size:200}") int sketchSize) {
+        this.jobCatalog = jobCatalog;
+        this.sketchSize = sketchSize;
+    }
+
+    /**
+     * Returns the salary distribution of the job offers requiring a skill.
+     *
+     * @param skill The skill, case-insensitive
+     * @param quantiles Quantiles to estimate, between 0 and 1
+     * @return The distribution, or empty if no offer with a salary range requires the skill
+     */
+    public Optional<SalaryDistributionDto> forSkill(String skill, List<Double> quantiles) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return describe(skill, distributions.bySkill.get(normalize(skill)), quantiles);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the salary distribution of the job offers of a company.
+     *
+     * @param company The company name, case-insensitive
+     * @param quantiles Quantiles to estimate, between 0 and 1
+     * @return The distribution, or empty if the company has no offer with a salary range
+     */
+    public Optional<SalaryDistributionDto> forCompany(String company, List<Double> quantiles) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return describe(company, distributions.byCompany.get(normalize(company)), quantiles);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds every sketch from the job catalog. Queries keep being served from the previous
+     * sketches while the catalog is read.
+     *
+     * @return The number of job offers read
+     */
+    public int rebuild() {
+        long writesBefore = writes.get();
+        long staleBefore = staleWrites.get();
+        Distributions rebuilt = new Distributions();
+        int jobOffers = 0;
+        for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+            rebuilt.add(jobOffer, sketchSize);
+            jobOffers++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            distributions = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Writes applied to the previous sketches during the read may be missing, leave them for the next rebuild
+        if (writes.get() == writesBefore) {
+            staleWrites.addAndGet(-staleBefore);
+        } else {
+            staleWrites.incrementAndGet();
+        }
+        return jobOffers;
+    }
+
+    @Scheduled(fixedDelayString = "${salary.distribution.rebuild-interval-ms:600000}",
+            initialDelayString = "${salary.distribution.rebuild-interval-ms:600000}")
+    public void rebuildIfStale() {
+        if (loaded && staleWrites.get() > 0) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        writes.incrementAndGet();
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (distributions.add(jobOffer, sketchSize)) {
+                // The offer was edited, its previous salaries and skills are still counted
+                staleWrites.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        writes.incrementAndGet();
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (distributions.fingerprints.remove(jobOfferId) != null) {
+                staleWrites.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                Distributions initial = new Distributions();
+                for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+                    initial.add(jobOffer, sketchSize);
+                }
+                distributions = initial;
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Optional<SalaryDistributionDto> describe(String key, SalarySketches sketches, List<Double> quantiles) {
+        if (sketches == null) {
+            return Optional.empty();
+        }
+        double[] fractions = quantiles.stream().mapToDouble(Double::doubleValue).toArray();
+        double[] minValues = sketches.minSalaries.quantiles(fractions);
+        double[] maxValues = sketches.maxSalaries.quantiles(fractions);
+
+        Map<String, Double> minSalaryQuantiles = new LinkedHashMap<>();
+        Map<String, Double> maxSalaryQuantiles = new LinkedHashMap<>();
+        for (int i = 0; i < fractions.length; i++) {
+            String label = label(fractions[i]);
+            minSalaryQuantiles.put(label, minValues[i]);
+            maxSalaryQuantiles.put(label, maxValues[i]);
+        }
+        return Optional.of(new SalaryDistributionDto(key, sketches.minSalaries.getCount(),
+                sketches.minSalaries.getMin(), sketches.maxSalaries.getMax(),
+                minSalaryQuantiles, maxSalaryQuantiles));
+    }
+
+    // 0.5 -> "p50", 0.999 -> "p99.9"
+    private static String label(double fraction) {
+        return "p" + BigDecimal.valueOf(fraction).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase();
+    }
+
+    private static boolean hasSalaryRange(JobOfferDto jobOffer) {
+        return jobOffer.getSalaryMin() != null && jobOffer.getSalaryMax() != null
+                && jobOffer.getSalaryMax() >= jobOffer.getSalaryMin();
+    }
+
+    private static final class Distributions {
+        private final Map<String, SalarySketches> bySkill = new HashMap<>();
+        private final Map<String, SalarySketches> byCompany = new HashMap<>();
+
+        // job offer id -> hash of what it contributed, to skip re-saves that change nothing
+        private final Map<Long, Integer> fingerprints = new HashMap<>();
+
+        /**
+         * Adds an offer's salaries to the sketches of its skills and company.
+         *
+         * @return Whether the offer had already contributed different values
+         */
+        boolean add(JobOfferDto jobOffer, int sketchSize) {
+            if (!hasSalaryRange(jobOffer)) {
+                return jobOffer.getId() != null && fingerprints.remove(jobOffer.getId()) != null;
+            }
+            Set<String> skills = SkillParser.parseSkills(jobOffer.getSkills());
+            String company = jobOffer.getCompanyName() != null ? normalize(jobOffer.getCompanyName()) : null;
+            int fingerprint = Objects.hash(skills, company, jobOffer.getSalaryMin(), jobOffer.getSalaryMax());
+            Integer previous = jobOffer.getId() != null ? fingerprints.put(jobOffer.getId(), fingerprint) : null;
+            if (previous != null && previous == fingerprint) {
+                return false;
+            }
+
+            for (String skill : skills) {
+                bySkill.computeIfAbsent(skill, key -> new SalarySketches(sketchSize)).add(jobOffer);
+            }
+            if (company != null && !company.isEmpty()) {
+                byCompany.computeIfAbsent(company, key -> new SalarySketches(sketchSize)).add(jobOffer);
+            }
+            return previous != null;
+        }
+    }
+
+    private static final class SalarySketches {
+        private final QuantileSketch minSalaries;
+        private final QuantileSketch maxSalaries;
+
+        private SalarySketches(int sketchSize) {
+            this.minSalaries = new QuantileSketch(sketchSize);
+            this.maxSalaries = new QuantileSketch(sketchSize);
+        }
+
+        private void add(JobOfferDto jobOffer) {
+            minSalaries.update(jobOffer.getSalaryMin());
+            maxSalaries.update(jobOffer.getSalaryMax());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.Collection;
+
+/**
+ * Linear salary model over hashed skill features, trained online with stochastic gradient descent.
+ * Features are a bias plus one hashed feature per skill, so the model needs no vocabulary and a
+ * new skill costs nothing until it shows up in training data. The weights of the min and max
+ * salary targets live side by side in one primitive array, and a prediction is a sparse dot
+ * product over the few features of a profile.
+ * Not thread-safe; callers synchronize access.
+ */
+public final class SalaryModel {
+
+    // Salaries are learned in units of 100k so that gradients stay in a stable range
+    static final double SALARY_SCALE = 100_000.0;
+
+    private static final int BIAS_FEATURE = 0;
+    private static final int TARGETS = 2;
+
+    private final int dimensionBits;
+    private final int dimension;
+    private final double learningRate;
+    private final double l2;
+
+    // weights[target * dimension + feature], target 0 is the min salary and target 1 the max salary
+    private final double[] weights;
+
+    // Number of training examples each feature appeared in, to tell known skills from unseen ones
+    private final int[] featureExamples;
+    private long examples;
+
+    public SalaryModel(int dimensionBits, double learningRate, double l2) {
+        this(dimensionBits, learningRate, l2, new double[TARGETS << dimensionBits], new int[1 << dimensionBits], 0);
+    }
+
+    SalaryModel(int dimensionBits, double learningRate, double l2,
+                double[] weights, int[] featureExamples, long examples) {
+        if (dimensionBits < 1 || dimensionBits > 26) {
+            throw new IllegalArgumentException("dimensionBits must be between 1 and 26");
+        }
+        if (weights.length != TARGETS << dimensionBits || featureExamples.length != 1 << dimensionBits) {
+            throw new IllegalArgumentException("Array sizes do not match the dimension");
+        }
+        this.dimensionBits = dimensionBits;
+        this.dimension = 1 << dimensionBits;
+        this.learningRate = learningRate;
+        this.l2 = l2;
+        this.weights = weights;
+        this.featureExamples = featureExamples;
+        this.examples = examples;
+    }
+
+    /**
+     * Runs one gradient step on a job offer's skills and salary range.
+     *
+     * @param skills Normalized skill names
+     * @param salaryMin Minimum salary of the offer
+     * @param salaryMax Maximum salary of the offer
+     */
+    public void train(Collection<String> skills, double salaryMin, double salaryMax) {
+        int[] features = features(skills);
+        double skillValue = skillValue(features);
+        double[] targets = {salaryMin / SALARY_SCALE, salaryMax / SALARY_SCALE};
+
+        for (int target = 0; target < TARGETS; target++) {
+            int offset = target * dimension;
+            double error = dot(features, skillValue, offset) - targets[target];
+            for (int i = 0; i < features.length; i++) {
+                int index = offset + features[i];
+                double value = i == 0 ? 1.0 : skillValue;
+                weights[index] -= learningRate * (error * value + l2 * weights[index]);
+            }
+        }
+
+        for (int feature : features) {
+            featureExamples[feature]++;
+        }
+        examples++;
+    }
+
+    /**
+     * Predicts the salary range for a set of skills.
+     *
+     * @param skills Normalized skill names
+     * @return The predicted min and max salary
+     */
+    public double[] predict(Collection<String> skills) {
+        int[] features = features(skills);
+        double skillValue = skillValue(features);
+        double min = Math.max(0.0, dot(features, skillValue, 0) * SALARY_SCALE);
+        double max = Math.max(min, dot(features, skillValue, dimension) * SALARY_SCALE);
+        return new double[]{min, max};
+    }
+
+    /**
+     * Returns the share of the skills that appeared in at least one training example.
+     */
+    public double knownSkillRatio(Collection<String> skills) {
+        if (skills.isEmpty()) {
+            return 0.0;
+        }
+        int known = 0;
+        for (String skill : skills) {
+            if (featureExamples[featureOf(skill)] > 0) {
+                known++;
+            }
+        }
+        return (double) known / skills.size();
+    }
+
+    public long getExamples() {
+        return examples;
+    }
+
+    int getDimensionBits() {
+        return dimensionBits;
+    }
+
+    double getLearningRate() {
+        return learningRate;
+    }
+
+    double getL2() {
+        return l2;
+    }
+
+    double[] getWeights() {
+        return weights;
+    }
+
+    int[] getFeatureExamples() {
+        return featureExamples;
+    }
+
+    private double dot(int[] features, double skillValue, int offset) {
+        double sum = weights[offset + features[0]];
+        for (int i = 1; i < features.length; i++) {
+            sum += weights[offset + features[i]] * skillValue;
+        }
+        return sum;
+    }
+
+    // The bias first, then one feature per skill
+    private int[] features(Collection<String> skills) {
+        int[] features = new int[skills.size() + 1];
+        features[0] = BIAS_FEATURE;
+        int i = 1;
+        for (String skill : skills) {
+            features[i++] = featureOf(skill);
+        }
+        return features;
+    }
+
+    // Skill features are scaled to unit norm, so profiles with many skills do not overshoot
+    private static double skillValue(int[] features) {
+        return features.length > 1 ? 1.0 / Math.sqrt(features.length - 1) : 0.0;
+    }
+
+    private int featureOf(String skill) {
+        int feature = (int) (mix(skill.hashCode()) >>> (64 - dimensionBits));
+        // Slot 0 is reserved for the bias
+        return feature == BIAS_FEATURE ? 1 : feature;
+    }
+
+    // Finalizer of MurmurHash3, spreads every input bit over the whole output
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,204 @@
+package com.ayoub.recruitment.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Versioned binary snapshots of the salary model in a directory that several nodes can share.
+ * Every version is a separate immutable file, written to a private temporary file and linked
+ * into place without ever replacing an existing version, so readers never see a partial model.
+ * Files are read and written through memory maps, which turns loading a model into a bulk copy
+ * instead of parsing.
+ */
+@Component
+@ConditionalOnProperty(name = "salary.predictor", havingValue = "model")
+public class SalaryModelStore {
+
+    private static final int MAGIC = 0x53414C4D; // "SALM"
+    private static final int FORMAT_VERSION = 1;
+    // magic, format, model version, dimension bits, learning rate, l2, examples
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 8 + 8 + 8;
+    private static final Pattern FILE_NAME = Pattern.compile("salary-model-v(\\d+)\\.bin");
+
+    private final Path directory;
+    private final int retainedVersions;
+
+    public SalaryModelStore(@Value("${salary.model.dir:./data/salary-model}") String directory,
+                            @Value("${salary.model.retained-versions:3}") int retainedVersions) {
+        this.directory = Paths.get(directory);
+        this.retainedVersions = retainedVersions;
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not initialize salary model directory", e);
+        }
+    }
+
+    /**
+     * Returns the highest published version, if any.
+     */
+    public OptionalLong latestVersion() {
+        return listVersions().stream().mapToLong(Long::longValue).max();
+    }
+
+    /**
+     * Loads a published version.
+     *
+     * @param version The model version
+     * @return The model, ready to serve and to keep training
+     */
+    public SalaryModel load(long version) {
+        Path file = fileOf(version);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new RuntimeException("Not a salary model file: " + file);
+            }
+            long storedVersion = buffer.getLong();
+            if (storedVersion != version) {
+                throw new RuntimeException("Salary model file " + file + " holds version " + storedVersion);
+            }
+            int dimensionBits = buffer.getInt();
+            double learningRate = buffer.getDouble();
+            double l2 = buffer.getDouble();
+            long examples = buffer.getLong();
+
+            int dimension = 1 << dimensionBits;
+            if (channel.size() != fileSize(dimension)) {
+                throw new RuntimeException("Truncated salary model file: " + file);
+            }
+            double[] weights = new double[2 * dimension];
+            int[] featureExamples = new int[dimension];
+            buffer.asDoubleBuffer().get(weights);
+            buffer.position(buffer.position() + weights.length * Double.BYTES);
+            buffer.asIntBuffer().get(featureExamples);
+            return new SalaryModel(dimensionBits, learningRate, l2, weights, featureExamples, examples);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read salary model: " + file, e);
+        }
+    }
+
+    /**
+     * Publishes a model as the next version. The caller must keep the model from being trained meanwhile.
+     * If another node publishes the same version first, the model is published as the version after it.
+     *
+     * @param model The model
+     * @return The published version
+     */
+    public long publish(SalaryModel model) {
+        Path temporary;
+        try {
+            // Private to this publish, so concurrent publishers never write into the same file
+            temporary = Files.createTempFile(directory, "salary-model-", ".tmp");
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write salary model in " + directory, e);
+        }
+
+        try {
+            long version = latestVersion().orElse(0L) + 1;
+            write(temporary, model, version);
+            while (!install(temporary, fileOf(version))) {
+                version = Math.max(version, latestVersion().orElse(0L)) + 1;
+                write(temporary, model, version);
+            }
+            pruneOldVersions();
+            return version;
+        } finally {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException e) {
+                // A leftover temporary file is never read as a model
+            }
+        }
+    }
+
+    private void write(Path file, SalaryModel model, long version) {
+        int dimension = 1 << model.getDimensionBits();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(dimension));
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putLong(version);
+            buffer.putInt(model.getDimensionBits());
+            buffer.putDouble(model.getLearningRate());
+            buffer.putDouble(model.getL2());
+            buffer.putLong(model.getExamples());
+            buffer.asDoubleBuffer().put(model.getWeights());
+            buffer.position(buffer.position() + model.getWeights().length * Double.BYTES);
+            buffer.asIntBuffer().put(model.getFeatureExamples());
+            buffer.force();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write salary model: " + fileOf(version), e);
+        }
+    }
+
+    // Gives the complete file its version name, unless that version exists. A hard link fails
+    // atomically on an existing name, where a rename would silently replace it.
+    private boolean install(Path temporary, Path target) {
+        try {
+            try {
+                Files.createLink(target, temporary);
+            } catch (UnsupportedOperationException e) {
+                // Without hard links, a move that refuses to replace the target is the closest
+                Files.move(temporary, target);
+            }
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not publish salary model: " + target, e);
+        }
+    }
+
+    private void pruneOldVersions() {
+        List<Long> versions = listVersions();
+        versions.sort(null);
+        for (int i = 0; i < versions.size() - retainedVersions; i++) {
+            try {
+                Files.deleteIfExists(fileOf(versions.get(i)));
+            } catch (IOException e) {
+                // A node may still be reading it, it will be retried on the next publish
+            }
+        }
+    }
+
+    private List<Long> listVersions() {
+        List<Long> versions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    versions.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Could not list salary models in " + directory, e);
+        }
+        return versions;
+    }
+
+    private Path fileOf(long version) {
+        return directory.resolve("salary-model-v" + version + ".bin");
+    }
+
+    private static long fileSize(int dimension) {
+        return HEADER_BYTES + 2L * dimension * Double.BYTES + (long) dimension * Integer.BYTES;
+    }
+}
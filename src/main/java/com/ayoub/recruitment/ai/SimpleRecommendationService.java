@@ -1,10 +1,10 @@
 package com.ayoub.recruitment.ai;
 
 import com.ayoub.recruitment.dto.JobOfferDto;
-import com.ayoub.recruitment.model.JobOffer;
 import com.ayoub.recruitment.model.StudentProfile;
-import com.ayoub.recruitment.repository.JobOfferRepository;
 import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.service.JobCatalog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -15,52 +15,66 @@ import java.util.stream.Collectors;
  * This will be replaced with more sophisticated ML models in future iterations.
  */
 @Service
+@ConditionalOnProperty(name = "recommendations.scorer", havingValue = "skills", matchIfMissing = true)
 public class SimpleRecommendationService implements RecommendationService {
     
-    private final JobOfferRepository jobOfferRepository;
+    private final JobCatalog jobCatalog;
     private final StudentProfileRepository studentProfileRepository;
+    private final SkillDictionary skillDictionary;
+    private final JobSkillIndex jobSkillIndex;
+    private final JobMatcher jobMatcher;
+    private final SkillExtractor skillExtractor;
     
-    public SimpleRecommendationService(JobOfferRepository jobOfferRepository, StudentProfileRepository studentProfileRepository) {
-        this.jobOfferRepository = jobOfferRepository;
+    public SimpleRecommendationService(JobCatalog jobCatalog,
+                                       StudentProfileRepository studentProfileRepository,
+                                       SkillDictionary skillDictionary,
+                                       JobSkillIndex jobSkillIndex,
+                                       JobMatcher jobMatcher,
+                                       SkillExtractor skillExtractor) {
+        this.jobCatalog = jobCatalog;
         this.studentProfileRepository = studentProfileRepository;
+        this.skillDictionary = skillDictionary;
+        this.jobSkillIndex = jobSkillIndex;
+        this.jobMatcher = jobMatcher;
+        this.skillExtractor = skillExtractor;
     }
 
     @Override
     public List<JobOfferDto> recommendJobs(StudentProfile studentProfile, List<JobOfferDto> availableJobs, int limit) {
-        // Calculate match scores for all available jobs
-        Map<JobOfferDto, Double> jobScores = new HashMap<>();
-        for (JobOfferDto job : availableJobs) {
-            double score = calculateMatchScore(studentProfile, job);
-            jobScores.put(job, score);
-        }
-        
-        // Sort jobs by score and return top matches
-        return jobScores.entrySet().stream()
-                .sorted(Map.Entry.<JobOfferDto, Double>comparingByValue().reversed())
-                .limit(limit)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        return recommendJobs(studentProfile, availableJobs, 0, limit);
     }
 
     @Override
-    public List<String> extractSkills(String resumeText) {
-        if (resumeText == null || resumeText.isEmpty()) {
+    public List<JobOfferDto> recommendJobs(StudentProfile studentProfile, List<JobOfferDto> availableJobs, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
             return Collections.emptyList();
         }
         
-        // This is a very simple skill extraction that just looks for common programming languages
-        // In a real implementation, this would use NLP techniques to extract skills
-        List<String> commonSkills = Arrays.asList(
-                "java", "python", "javascript", "typescript", "c++", "c#", "php", "ruby",
-                "sql", "nosql", "mongodb", "postgresql", "mysql", "oracle", "spring", "hibernate",
-                "react", "angular", "vue", "node.js", "express", "django", "flask", "docker",
-                "kubernetes", "aws", "azure", "gcp", "devops", "ci/cd", "git", "agile", "scrum"
-        );
+        // Keep only the best offset + limit jobs in a bounded heap instead of sorting every job
+        TopK<JobOfferDto> topJobs = new TopK<>((int) Math.min(Integer.MAX_VALUE, (long) offset + limit));
+        SkillSet studentSkills = jobSkillIndex.lookupSkills(studentProfile.getSkills());
+        int dictionarySize = skillDictionary.size();
+        for (JobOfferDto job : availableJobs) {
+            SkillSet jobSkills = jobSkills(job);
+            if (skillDictionary.size() != dictionarySize) {
+                // A job offer missing from the index interned new skills, which the student may have
+                studentSkills = skillDictionary.lookupSkills(studentProfile.getSkills());
+                dictionarySize = skillDictionary.size();
+            }
+            double score = studentSkills.jaccard(jobSkills);
+            // Like the precomputed recommendations, leave out jobs sharing no skill with the student
+            if (score <= 0.0) {
+                continue;
+            }
+            topJobs.offer(job, job.getId() != null ? job.getId() : Long.MAX_VALUE, score);
+        }
         
-        String lowerCaseText = resumeText.toLowerCase();
-        return commonSkills.stream()
-                .filter(lowerCaseText::contains)
-                .collect(Collectors.toList());
+        return topJobs.page(offset);
+    }
+
+    @Override
+    public List<String> extractSkills(String resumeText) {
+        return skillExtractor.extractSkills(resumeText);
     }
 
     @Override
@@ -69,69 +83,46 @@ public class SimpleRecommendationService implements RecommendationService {
             return 0.0;
         }
         
-        // Extract skills from student profile and job offer
-        List<String> studentSkills = parseSkills(studentProfile.getSkills());
-        List<String> jobSkills = parseSkills(jobOffer.getSkills());
+        // The job offer is resolved first, so the student's skills are looked up against its skills
+        SkillSet jobSkills = jobSkills(jobOffer);
+        SkillSet studentSkills = jobSkillIndex.lookupSkills(studentProfile.getSkills());
         
         if (studentSkills.isEmpty() || jobSkills.isEmpty()) {
             return 0.0;
         }
         
         // Calculate Jaccard similarity (intersection over union)
-        Set<String> intersection = new HashSet<>(studentSkills);
-        intersection.retainAll(jobSkills);
-        
-        Set<String> union = new HashSet<>(studentSkills);
-        union.addAll(jobSkills);
-        
-        return (double) intersection.size() / union.size();
+        return studentSkills.jaccard(jobSkills);
     }
     
-    private List<String> parseSkills(String skillsText) {
-        if (skillsText == null || skillsText.isEmpty()) {
-            return Collections.emptyList();
-        }
-        
-        // Split by common delimiters and normalize
-        return Arrays.stream(skillsText.split("[,;\\n]"))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .map(String::toLowerCase)
-                .collect(Collectors.toList());
+    // Indexed job offers keep their interned skills by id; one not indexed yet is parsed like the index would
+    private SkillSet jobSkills(JobOfferDto jobOffer) {
+        SkillSet skills = jobOffer.getId() != null ? jobSkillIndex.skillsOf(jobOffer.getId()) : SkillSet.EMPTY;
+        return !skills.isEmpty() ? skills : skillDictionary.internSkills(jobOffer.getSkills());
     }
     
     @Override
-    public List<JobOffer> getRecommendationsForStudent(long studentId) {
+    public List<JobOfferDto> getRecommendationsForStudent(long studentId) {
+        return getRecommendationsForStudent(studentId, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<JobOfferDto> getRecommendationsForStudent(long studentId, int limit) {
         // Find student profile by user ID
         Optional<StudentProfile> studentProfileOpt = studentProfileRepository.findByUserId(studentId);
-        if (studentProfileOpt.isEmpty()) {
+        if (studentProfileOpt.isEmpty() || limit <= 0) {
             return Collections.emptyList();
         }
         
-        StudentProfile studentProfile = studentProfileOpt.get();
-        List<JobOffer> allJobOffers = jobOfferRepository.findAll();
-        
-        // Calculate match scores for all available jobs
-        Map<JobOffer, Double> jobScores = new HashMap<>();
-        for (JobOffer job : allJobOffers) {
-            // Convert JobOffer to JobOfferDto for compatibility with existing methods
-            JobOfferDto jobDto = new JobOfferDto();
-            jobDto.setId(job.getId());
-            jobDto.setTitle(job.getTitle());
-            jobDto.setDescription(job.getDescription());
-            jobDto.setSkills(job.getSkills());
-            
-            double score = calculateMatchScore(studentProfile, jobDto);
-            jobScores.put(job, score);
+        // Only job offers sharing at least one skill with the student can have a non-zero score
+        List<Long> rankedIds = jobMatcher.findTopMatches(studentProfileOpt.get(), limit).stream()
+                .map(TopK.Scored::getItem)
+                .collect(Collectors.toList());
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
         }
         
-        // Filter out jobs with zero match score
-        jobScores.entrySet().removeIf(entry -> entry.getValue() == 0.0);
-        
-        // Sort jobs by score and return matches
-        return jobScores.entrySet().stream()
-                .sorted(Map.Entry.<JobOffer, Double>comparingByValue().reversed())
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        // The catalog returns the selected job offers in ranking order
+        return jobCatalog.getByIds(rankedIds, true);
     }
 }
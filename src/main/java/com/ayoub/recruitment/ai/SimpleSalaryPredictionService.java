@@ -2,6 +2,7 @@ package com.ayoub.recruitment.ai;
 
 import com.ayoub.recruitment.model.StudentProfile;
 import com.ayoub.recruitment.repository.StudentProfileRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -12,6 +13,7 @@ import java.util.stream.Collectors;
  * This will be replaced with more sophisticated ML models in future iterations.
  */
 @Service
+@ConditionalOnProperty(name = "salary.predictor", havingValue = "heuristic", matchIfMissing = true)
 public class SimpleSalaryPredictionService implements SalaryPredictionService {
     
     private final StudentProfileRepository studentProfileRepository;
@@ -71,6 +73,31 @@ public class SimpleSalaryPredictionService implements SalaryPredictionService {
         SKILL_VALUES.put("ai", 0.95);
     }
 
+    // SKILL_VALUES compiled for lookups. When several entries match a skill, the first one in the
+    // map's iteration order wins, so entries are numbered in that order and the lowest number wins.
+    private static final double[] SKILL_ENTRY_VALUES;
+
+    // Entries contained in a skill, e.g. "java" in "java ee"
+    private static final SkillAutomaton SKILL_ENTRY_AUTOMATON;
+
+    // Every substring of every entry, mapped to the first entry containing it, e.g. "script" -> "javascript"
+    private static final Map<String, Integer> FIRST_ENTRY_CONTAINING = new HashMap<>();
+
+    static {
+        List<String> entries = new ArrayList<>(SKILL_VALUES.keySet());
+        SKILL_ENTRY_VALUES = new double[entries.size()];
+        for (int entry = 0; entry < entries.size(); entry++) {
+            String key = entries.get(entry);
+            SKILL_ENTRY_VALUES[entry] = SKILL_VALUES.get(key);
+            for (int start = 0; start < key.length(); start++) {
+                for (int end = start + 1; end <= key.length(); end++) {
+                    FIRST_ENTRY_CONTAINING.putIfAbsent(key.substring(start, end), entry);
+                }
+            }
+        }
+        SKILL_ENTRY_AUTOMATON = SkillAutomaton.compileSubstrings(entries);
+    }
+
     // Base salary ranges by education level
     private static final Map<String, double[]> EDUCATION_BASE_SALARY = new HashMap<>();
     
@@ -149,12 +176,10 @@ public class SimpleSalaryPredictionService implements SalaryPredictionService {
         int matchedSkills = 0;
         
         for (String skill : skills) {
-            for (Map.Entry<String, Double> entry : SKILL_VALUES.entrySet()) {
-                if (skill.contains(entry.getKey()) || entry.getKey().contains(skill)) {
-                    totalValue += entry.getValue();
-                    matchedSkills++;
-                    break;
-                }
+            int entry = firstMatchingEntry(skill);
+            if (entry >= 0) {
+                totalValue += SKILL_ENTRY_VALUES[entry];
+                matchedSkills++;
             }
         }
         
@@ -162,6 +187,16 @@ public class SimpleSalaryPredictionService implements SalaryPredictionService {
         return matchedSkills > 0 ? totalValue / matchedSkills : 0.0;
     }
     
+    // First entry that the skill contains or that contains the skill, in O(skill length)
+    private static int firstMatchingEntry(String skill) {
+        int contained = SKILL_ENTRY_AUTOMATON.firstPatternIn(skill);
+        Integer containing = FIRST_ENTRY_CONTAINING.get(skill);
+        if (containing == null) {
+            return contained;
+        }
+        return contained >= 0 ? Math.min(contained, containing) : containing;
+    }
+    
     private double calculateConfidenceScore(StudentProfile profile, List<String> skills) {
         // Factors affecting confidence:
         // 1. Number of skills (more skills = more confidence)
@@ -0,0 +1,343 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Aho-Corasick automaton over a skill dictionary, compiled into a dense transition table so
+ * that finding every skill in a text is a single pass with one table lookup per character,
+ * whatever the size of the dictionary.
+ * Automata built with {@link #compile} match case-insensitively, treat any whitespace as a space,
+ * and only report skills standing on word boundaries, so "java" is not found inside "javascript".
+ * Automata built with {@link #compileSubstrings} match the patterns literally, anywhere in the text.
+ */
+public final class SkillAutomaton {
+
+    private final String[] skills;
+    private final boolean wordBoundaries;
+    private final int[] skillLengths;
+    private final int maxSkillLength;
+
+    // Characters appearing in the dictionary get a column; every other character maps to column 0
+    private final int[] charColumns;
+    private final int columns;
+
+    // transitions[state * columns + column], failure links already folded in
+    private final int[] transitions;
+
+    // Skills ending in each state, including the ones reachable through failure links
+    private final int[][] outputs;
+
+    private SkillAutomaton(String[] skills, boolean wordBoundaries, int[] charColumns, int columns,
+                           int[] transitions, int[][] outputs) {
+        this.skills = skills;
+        this.wordBoundaries = wordBoundaries;
+        this.charColumns = charColumns;
+        this.columns = columns;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.skillLengths = new int[skills.length];
+        int maxLength = 0;
+        for (int i = 0; i < skills.length; i++) {
+            skillLengths[i] = skills[i].length();
+            maxLength = Math.max(maxLength, skillLengths[i]);
+        }
+        this.maxSkillLength = maxLength;
+    }
+
+    /**
+     * Compiles an automaton recognizing the given skills.
+     *
+     * @param dictionary Skill names; they are normalized and deduplicated
+     * @return The compiled automaton
+     */
+    public static SkillAutomaton compile(Collection<String> dictionary) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String skill : dictionary) {
+            String name = normalize(skill.trim());
+            if (!name.isEmpty()) {
+                normalized.add(name);
+            }
+        }
+        return build(normalized.toArray(new String[0]), true);
+    }
+
+    /**
+     * Compiles an automaton finding the given patterns as plain substrings: case-sensitive,
+     * without normalization or word boundaries. Pattern indexes follow the order of the collection.
+     *
+     * @param patterns Non-empty, distinct patterns
+     * @return The compiled automaton
+     */
+    public static SkillAutomaton compileSubstrings(Collection<String> patterns) {
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Patterns must not be empty");
+            }
+        }
+        return build(patterns.toArray(new String[0]), false);
+    }
+
+    private static SkillAutomaton build(String[] skills, boolean wordBoundaries) {
+        int[] charColumns = new int[Character.MAX_VALUE + 1];
+        int columns = 1;
+        for (String skill : skills) {
+            for (int i = 0; i < skill.length(); i++) {
+                char c = skill.charAt(i);
+                if (charColumns[c] == 0) {
+                    charColumns[c] = columns++;
+                }
+            }
+        }
+
+        // Build the trie with growable tables
+        int capacity = 64;
+        int[] trie = new int[capacity * columns];
+        List<int[]> terminals = new ArrayList<>();
+        terminals.add(null);
+        int states = 1;
+        for (int skillIndex = 0; skillIndex < skills.length; skillIndex++) {
+            String skill = skills[skillIndex];
+            int state = 0;
+            for (int i = 0; i < skill.length(); i++) {
+                int column = charColumns[skill.charAt(i)];
+                int next = trie[state * columns + column];
+                if (next == 0) {
+                    if (states == capacity) {
+                        capacity *= 2;
+                        trie = Arrays.copyOf(trie, capacity * columns);
+                    }
+                    next = states++;
+                    terminals.add(null);
+                    trie[state * columns + column] = next;
+                }
+                state = next;
+            }
+            terminals.set(state, append(terminals.get(state), skillIndex));
+        }
+
+        // Breadth-first over the trie: a missing transition follows the failure link, whose row is
+        // already complete because it is shallower
+        int[] transitions = Arrays.copyOf(trie, states * columns);
+        int[] failure = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[0] = terminals.get(0);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < columns; column++) {
+            int child = transitions[column];
+            if (child != 0) {
+                failure[child] = 0;
+                outputs[child] = terminals.get(child);
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int column = 0; column < columns; column++) {
+                int child = transitions[state * columns + column];
+                int fallback = transitions[failure[state] * columns + column];
+                if (child == 0) {
+                    transitions[state * columns + column] = fallback;
+                    continue;
+                }
+                failure[child] = fallback;
+                outputs[child] = merge(terminals.get(child), outputs[fallback]);
+                queue.add(child);
+            }
+        }
+
+        return new SkillAutomaton(skills, wordBoundaries, charColumns, columns, transitions, outputs);
+    }
+
+    /**
+     * Returns the number of distinct skills in the dictionary.
+     */
+    public int size() {
+        return skills.length;
+    }
+
+    /**
+     * Returns the lowest index of the patterns occurring in a text, without allocating.
+     * Only available on automata built with {@link #compileSubstrings}.
+     *
+     * @param text The text
+     * @return The lowest pattern index, or -1 if no pattern occurs
+     */
+    public int firstPatternIn(CharSequence text) {
+        if (wordBoundaries) {
+            throw new IllegalStateException("Only supported on substring automata");
+        }
+        int first = -1;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * columns + charColumns[text.charAt(i)]];
+            int[] ending = outputs[state];
+            if (ending != null) {
+                for (int pattern : ending) {
+                    if (first == -1 || pattern < first) {
+                        first = pattern;
+                    }
+                }
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Finds every skill occurring in a text.
+     *
+     * @param text The text
+     * @return Matches in order of their end offset
+     */
+    public List<SkillMatch> findAll(CharSequence text) {
+        List<SkillMatch> matches = new ArrayList<>();
+        Matcher matcher = matcher(matches::add);
+        matcher.feed(text);
+        matcher.finish();
+        return matches;
+    }
+
+    /**
+     * Returns a matcher that can be fed a text in consecutive chunks, e.g. while reading a file.
+     *
+     * @param listener Receives the matches, with offsets relative to the start of the whole text
+     */
+    public Matcher matcher(Consumer<SkillMatch> listener) {
+        return new Matcher(listener);
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            normalized.append(normalize(text.charAt(i)));
+        }
+        return normalized.toString();
+    }
+
+    private static char normalize(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static int[] append(int[] values, int value) {
+        if (values == null) {
+            return new int[]{value};
+        }
+        int[] appended = Arrays.copyOf(values, values.length + 1);
+        appended[values.length] = value;
+        return appended;
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (own == null) {
+            return inherited;
+        }
+        if (inherited == null) {
+            return own;
+        }
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+
+    /**
+     * A skill found in a text, between start (inclusive) and end (exclusive) character offsets.
+     */
+    public static final class SkillMatch {
+        private final String skill;
+        private final long start;
+        private final long end;
+
+        public SkillMatch(String skill, long start, long end) {
+            this.skill = skill;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getSkill() {
+            return skill;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * Incremental matcher over a text delivered in chunks. Not thread-safe.
+     */
+    public final class Matcher {
+
+        private final Consumer<SkillMatch> listener;
+
+        // Whether each of the last maxSkillLength + 1 characters was a word character, to check
+        // the boundary before a match once its end is known
+        private final boolean[] recentWordChars = new boolean[maxSkillLength + 1];
+
+        private int state;
+        private long position;
+
+        // Skills ending at the previous character, waiting for the next one to check the boundary after them
+        private int[] pending;
+
+        private Matcher(Consumer<SkillMatch> listener) {
+            this.listener = listener;
+        }
+
+        public void feed(CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                next(text.charAt(i));
+            }
+        }
+
+        public void feed(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                next(buffer[i]);
+            }
+        }
+
+        /**
+         * Signals the end of the text, reporting the matches ending on its last character.
+         */
+        public void finish() {
+            resolvePending(false);
+        }
+
+        private void next(char raw) {
+            char c = wordBoundaries ? normalize(raw) : raw;
+            boolean wordChar = isWordChar(c);
+            resolvePending(wordChar);
+
+            state = transitions[state * columns + charColumns[c]];
+            recentWordChars[(int) (position % recentWordChars.length)] = wordChar;
+            position++;
+            pending = outputs[state];
+        }
+
+        private void resolvePending(boolean nextIsWordChar) {
+            if (pending == null) {
+                return;
+            }
+            for (int skillIndex : pending) {
+                String skill = skills[skillIndex];
+                long start = position - skillLengths[skillIndex];
+                // Boundaries only matter next to the skill's own word characters, so ".net" or "c++" still match
+                boolean endBoundary = !wordBoundaries || !nextIsWordChar
+                        || !isWordChar(skill.charAt(skill.length() - 1));
+                boolean startBoundary = !wordBoundaries || start == 0 || !isWordChar(skill.charAt(0))
+                        || !recentWordChars[(int) ((start - 1) % recentWordChars.length)];
+                if (startBoundary && endBoundary) {
+                    listener.accept(new SkillMatch(skill, start, position));
+                }
+            }
+            pending = null;
+        }
+    }
+}
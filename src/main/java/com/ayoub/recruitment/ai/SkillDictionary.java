@@ -0,0 +1,84 @@
+package com.ayoub.recruitment.ai;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global dictionary interning normalized skill names to dense int ids. Only the skills of
+ * indexed job offers and student profiles are interned; query skills are looked up without
+ * being added, so scoring free text never grows the dictionary.
+ */
+@Component
+public class SkillDictionary {
+
+    private final Map<String, Integer> skillIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSkillId = new AtomicInteger();
+
+    /**
+     * Returns the id of a normalized skill, assigning the next free id if the skill is new.
+     */
+    public int idOf(String skill) {
+        return skillIds.computeIfAbsent(skill, s -> nextSkillId.getAndIncrement());
+    }
+
+    /**
+     * Returns the id of a normalized skill, or -1 if the skill has never been seen.
+     */
+    public int lookup(String skill) {
+        return skillIds.getOrDefault(skill, -1);
+    }
+
+    public int size() {
+        return skillIds.size();
+    }
+
+    /**
+     * Parses a skills string ("Java, Spring; SQL") and interns its skills. Used for the skills of
+     * indexed entities, which make up the dictionary.
+     *
+     * @param skillsText Skills separated by commas, semicolons or new lines
+     * @return The skill set
+     */
+    public SkillSet internSkills(String skillsText) {
+        Set<String> skills = SkillParser.parseSkills(skillsText);
+        if (skills.isEmpty()) {
+            return SkillSet.EMPTY;
+        }
+
+        int[] ids = new int[skills.size()];
+        int i = 0;
+        for (String skill : skills) {
+            ids[i++] = idOf(skill);
+        }
+        return SkillSet.of(ids);
+    }
+
+    /**
+     * Parses a skills string to match against indexed entities, without interning its skills.
+     * Skills the dictionary does not know count towards the size of the set, but match nothing.
+     *
+     * @param skillsText Skills separated by commas, semicolons or new lines
+     * @return The skill set
+     */
+    public SkillSet lookupSkills(String skillsText) {
+        Set<String> skills = SkillParser.parseSkills(skillsText);
+        if (skills.isEmpty()) {
+            return SkillSet.EMPTY;
+        }
+
+        int[] ids = new int[skills.size()];
+        int known = 0;
+        for (String skill : skills) {
+            int id = lookup(skill);
+            if (id >= 0) {
+                ids[known++] = id;
+            }
+        }
+        return SkillSet.of(Arrays.copyOf(ids, known), skills.size() - known);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ayoub.recruitment.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Extracts known skills from free text such as a resume.
+ * The skill dictionary is read once at startup from skills.dictionary (one skill per line,
+ * lines starting with '#' are comments) and compiled into an Aho-Corasick automaton, so extraction is a
+ * single pass over the text whatever the size of the dictionary.
+ */
+@Component
+public class SkillExtractor {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final SkillAutomaton automaton;
+
+    public SkillExtractor(@Value("${skills.dictionary:classpath:skills.txt}") Resource dictionary) {
+        this.automaton = SkillAutomaton.compile(readDictionary(dictionary));
+    }
+
+    /**
+     * Extracts skills from a text.
+     *
+     * @param text The text content, e.g. of a resume
+     * @return Distinct extracted skills, in order of first occurrence
+     */
+    public List<String> extractSkills(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> skills = new LinkedHashSet<>();
+        for (SkillAutomaton.SkillMatch match : automaton.findAll(text)) {
+            skills.add(match.getSkill());
+        }
+        return new ArrayList<>(skills);
+    }
+
+    /**
+     * Extracts skills from a text read in chunks, so large documents are never held in memory.
+     * The reader is not closed.
+     *
+     * @param reader The text content, e.g. of a stored resume
+     * @return Distinct extracted skills, in order of first occurrence
+     */
+    public List<String> extractSkills(Reader reader) throws IOException {
+        Set<String> skills = new LinkedHashSet<>();
+        SkillAutomaton.Matcher matcher = automaton.matcher(match -> skills.add(match.getSkill()));
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            matcher.feed(buffer, 0, read);
+        }
+        matcher.finish();
+        return new ArrayList<>(skills);
+    }
+
+    /**
+     * Finds every occurrence of a known skill in a text, with its character offsets.
+     *
+     * @param text The text content
+     * @return Matches in order of their end offset
+     */
+    public List<SkillAutomaton.SkillMatch> findMatches(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return automaton.findAll(text);
+    }
+
+    /**
+     * Returns the number of skills in the dictionary.
+     */
+    public int dictionarySize() {
+        return automaton.size();
+    }
+
+    private static List<String> readDictionary(Resource dictionary) {
+        List<String> skills = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dictionary.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // c# and f# are skills, so only whole lines starting with '#' are comments
+                String skill = line.trim();
+                if (!skill.isEmpty() && !skill.startsWith("#")) {
+                    skills.add(skill);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read skill dictionary " + dictionary, e);
+        }
+        return skills;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Splits free-text skill lists ("Java, Spring; SQL") into normalized skill names.
+ */
+public final class SkillParser {
+
+    private SkillParser() {
+    }
+
+    /**
+     * Parses a skills string into a set of trimmed, lowercased skill names.
+     *
+     * @param skillsText Skills separated by commas, semicolons or new lines
+     * @return The distinct skills in order of first appearance
+     */
+    public static Set<String> parseSkills(String skillsText) {
+        if (skillsText == null || skillsText.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<String> skills = new LinkedHashSet<>();
+        for (String part : skillsText.split("[,;\\n]")) {
+            String skill = part.trim();
+            if (!skill.isEmpty()) {
+                skills.add(skill.toLowerCase());
+            }
+        }
+        return skills;
+    }
+}
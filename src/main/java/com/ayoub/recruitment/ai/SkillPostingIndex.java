@@ -0,0 +1,177 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from skill id to the ids of the entities having that skill.
+ * The index is loaded on first use and then updated incrementally, so lookups cost time
+ * proportional to the matching postings rather than to the number of indexed entities.
+ */
+public abstract class SkillPostingIndex {
+
+    private final SkillDictionary skillDictionary;
+
+    // skill id -> ids of the entities having it
+    private final List<Set<Long>> postings = new ArrayList<>();
+
+    // entity id -> interned skills, needed for scoring and to unlink the entity on update or delete
+    private final Map<Long, SkillSet> skillsById = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    protected SkillPostingIndex(SkillDictionary skillDictionary) {
+        this.skillDictionary = skillDictionary;
+    }
+
+    /**
+     * Reads every entity and links it with {@link #link(Long, String)}.
+     * Called once, under the write lock.
+     */
+    protected abstract void loadAll();
+
+    /**
+     * Finds every entity sharing at least one skill with the given skills.
+     *
+     * @param skills Skills to match
+     * @return Map of candidate id to that candidate's skills
+     */
+    public Map<Long, SkillSet> findCandidates(SkillSet skills) {
+        ensureLoaded();
+
+        Map<Long, SkillSet> candidates = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < skills.knownSkillCount(); i++) {
+                int skillId = skills.skillIdAt(i);
+                if (skillId >= postings.size()) {
+                    break;
+                }
+                for (Long id : postings.get(skillId)) {
+                    candidates.computeIfAbsent(id, skillsById::get);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return candidates;
+    }
+
+    /**
+     * Parses skills to match against the index. The index is loaded first, so every skill of an
+     * indexed entity is already in the dictionary when the query skills are looked up.
+     *
+     * @param skillsText Skills separated by commas, semicolons or new lines
+     * @return The skill set, without interning skills no indexed entity has
+     */
+    public SkillSet lookupSkills(String skillsText) {
+        ensureLoaded();
+        return skillDictionary.lookupSkills(skillsText);
+    }
+
+    /**
+     * Returns the skills of an indexed entity, as kept up to date by its writes.
+     *
+     * @param id Id of the entity
+     * @return Its skills, empty if it has none or is not indexed
+     */
+    public SkillSet skillsOf(Long id) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            return skillsById.getOrDefault(id, SkillSet.EMPTY);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every entity sharing a skill with the given skills and keeps the best ones.
+     *
+     * @param skills Skills to match
+     * @param limit Maximum number of matches to return
+     * @return Matching ids with their Jaccard scores, best first
+     */
+    public List<TopK.Scored<Long>> findTopMatches(SkillSet skills, int limit) {
+        Map<Long, SkillSet> candidates = findCandidates(skills);
+        TopK<Long> topIds = new TopK<>(Math.min(limit, candidates.size()));
+        candidates.forEach((id, candidateSkills) -> topIds.offer(id, id, skills.jaccard(candidateSkills)));
+        return topIds.toSortedList();
+    }
+
+    /**
+     * Replaces the skills of an entity.
+     */
+    protected void update(Long id, String skillsText) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // The initial load will read the entity; a load in progress
+                // holds the lock, so the write waits for it instead of being dropped
+                return;
+            }
+            unlink(id);
+            link(id, skillsText);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an entity from the index.
+     */
+    protected void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected void link(Long id, String skillsText) {
+        SkillSet skills = skillDictionary.internSkills(skillsText);
+        if (skills.isEmpty()) {
+            return;
+        }
+        skillsById.put(id, skills);
+        for (int i = 0; i < skills.knownSkillCount(); i++) {
+            int skillId = skills.skillIdAt(i);
+            while (postings.size() <= skillId) {
+                postings.add(new HashSet<>());
+            }
+            postings.get(skillId).add(id);
+        }
+    }
+
+    private void unlink(Long id) {
+        SkillSet skills = skillsById.remove(id);
+        if (skills == null) {
+            return;
+        }
+        for (int i = 0; i < skills.knownSkillCount(); i++) {
+            postings.get(skills.skillIdAt(i)).remove(id);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loadAll();
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of skills, stored as the sorted ids of its skills from a SkillDictionary, so a
+ * set costs four bytes per skill however large the dictionary grows. Skills the dictionary does
+ * not know are only counted: they belong to the set, but cannot be shared with an interned set.
+ * Intersections merge the two sorted id arrays and never allocate.
+ */
+public final class SkillSet {
+
+    public static final SkillSet EMPTY = new SkillSet(new int[0], 0);
+
+    private final int[] skillIds;
+    private final int cardinality;
+
+    private SkillSet(int[] skillIds, int cardinality) {
+        this.skillIds = skillIds;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Creates a skill set from dictionary ids.
+     *
+     * @param skillIds Skill ids, duplicates are ignored
+     * @return The skill set
+     */
+    public static SkillSet of(int[] skillIds) {
+        return of(skillIds, 0);
+    }
+
+    /**
+     * Creates a skill set from dictionary ids and a number of distinct skills without an id.
+     *
+     * @param skillIds Skill ids, duplicates are ignored
+     * @param unknownSkills Number of distinct skills the dictionary does not know
+     * @return The skill set
+     */
+    public static SkillSet of(int[] skillIds, int unknownSkills) {
+        if (skillIds.length == 0 && unknownSkills == 0) {
+            return EMPTY;
+        }
+
+        int[] sorted = skillIds.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return new SkillSet(size == sorted.length ? sorted : Arrays.copyOf(sorted, size), size + unknownSkills);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int skillId) {
+        return Arrays.binarySearch(skillIds, skillId) >= 0;
+    }
+
+    /**
+     * Number of skills with a dictionary id; iterate them with {@link #skillIdAt(int)}.
+     */
+    public int knownSkillCount() {
+        return skillIds.length;
+    }
+
+    /**
+     * Returns the index-th smallest skill id of the set.
+     */
+    public int skillIdAt(int index) {
+        return skillIds[index];
+    }
+
+    public int intersectionSize(SkillSet other) {
+        int[] a = skillIds;
+        int[] b = other.skillIds;
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Calculates the Jaccard similarity (intersection over union) with another skill set.
+     *
+     * @param other The other skill set
+     * @return A score between 0.0 and 1.0, 0.0 if both sets are empty
+     */
+    public double jaccard(SkillSet other) {
+        int intersection = intersectionSize(other);
+        int union = cardinality + other.cardinality - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+}
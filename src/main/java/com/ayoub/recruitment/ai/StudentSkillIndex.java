@@ -0,0 +1,34 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.service.StudentProfileListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inverted index from skill to the student profiles having it, kept up to date by
+ * StudentProfileService updates, so finding the best candidates for a job offer only scores
+ * students that share at least one skill with it.
+ */
+@Component
+public class StudentSkillIndex extends SkillPostingIndex implements StudentProfileListener {
+
+    private final StudentProfileRepository studentProfileRepository;
+
+    public StudentSkillIndex(StudentProfileRepository studentProfileRepository, SkillDictionary skillDictionary) {
+        super(skillDictionary);
+        this.studentProfileRepository = studentProfileRepository;
+    }
+
+    @Override
+    protected void loadAll() {
+        for (StudentProfile studentProfile : studentProfileRepository.findAll()) {
+            link(studentProfile.getId(), studentProfile.getSkills());
+        }
+    }
+
+    @Override
+    public void onStudentProfileSaved(StudentProfile studentProfile) {
+        update(studentProfile.getId(), studentProfile.getSkills());
+    }
+}
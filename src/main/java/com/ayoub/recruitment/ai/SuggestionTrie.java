@@ -0,0 +1,317 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.SuggestionDto;
+
+import java.util.*;
+
+/**
+ * Compacted prefix trie (radix tree) of weighted suggestions. Chains of single-child nodes are
+ * merged into one edge, and every node knows the highest weight below it, so the best suggestions
+ * for a prefix are found best-first without visiting the rest of its subtree.
+ * A suggestion's weight is the number of times it was added, per type, minus removals.
+ * Not thread-safe; callers synchronize access.
+ */
+final class SuggestionTrie {
+
+    static final String TITLE = "title";
+    static final String COMPANY = "company";
+    static final String SKILL = "skill";
+    private static final String[] TYPES = {TITLE, COMPANY, SKILL};
+
+    private final Node root = new Node("", null);
+
+    /**
+     * Adds one occurrence of a suggestion.
+     *
+     * @param text The suggestion as written; the first spelling seen is the one suggested
+     * @param type One of TITLE, COMPANY or SKILL
+     */
+    void add(String text, String type) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i), node);
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                child = node.split(child, common);
+            }
+            node = child;
+            i += common;
+        }
+
+        if (node.counts == null) {
+            node.counts = new int[TYPES.length];
+            node.text = text.trim().replaceAll("\\s+", " ");
+        }
+        node.counts[typeIndex(type)]++;
+        node.weight++;
+        updateBest(node);
+    }
+
+    /**
+     * Removes one occurrence of a suggestion, and the suggestion itself once its weight drops to zero.
+     */
+    void remove(String text, String type) {
+        Node node = find(normalize(text));
+        int index = typeIndex(type);
+        if (node == null || node.counts == null || node.counts[index] == 0) {
+            return;
+        }
+        node.counts[index]--;
+        node.weight--;
+        if (node.weight == 0) {
+            node.counts = null;
+            node.text = null;
+        }
+        updateBest(prune(node));
+    }
+
+    /**
+     * Returns the heaviest suggestions starting with a prefix, heaviest first.
+     */
+    List<SuggestionDto> suggest(String prefix, int limit) {
+        List<SuggestionDto> suggestions = new ArrayList<>();
+        Node start = locate(normalize(prefix));
+        if (start == null || limit <= 0) {
+            return suggestions;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        queue.add(new Candidate(start, path(start), false, start.best));
+        while (!queue.isEmpty() && suggestions.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.node;
+            if (candidate.terminal) {
+                suggestions.add(new SuggestionDto(node.text, node.type(), node.weight));
+                continue;
+            }
+            if (node.counts != null) {
+                queue.add(new Candidate(node, candidate.path, true, node.weight));
+            }
+            for (int c = 0; c < node.childCount; c++) {
+                Node child = node.children[c];
+                queue.add(new Candidate(child, candidate.path + child.label, false, child.best));
+            }
+        }
+        return suggestions;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private static String path(Node node) {
+        StringBuilder path = new StringBuilder();
+        for (; node != null; node = node.parent) {
+            path.insert(0, node.label);
+        }
+        return path.toString();
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            node = child;
+            i += child.label.length();
+        }
+        return node;
+    }
+
+    // Returns the topmost node whose keys all start with the prefix, which may end inside its edge
+    private Node locate(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    // Drops nodes left without suggestions and merges pass-through nodes back into one edge
+    private Node prune(Node node) {
+        while (node != root && node.counts == null && node.childCount == 0) {
+            Node parent = node.parent;
+            parent.removeChild(node);
+            node = parent;
+        }
+        if (node != root && node.counts == null && node.childCount == 1) {
+            Node child = node.children[0];
+            child.label = node.label + child.label;
+            child.parent = node.parent;
+            node.parent.replaceChild(node, child);
+            node = child.parent;
+        }
+        return node;
+    }
+
+    private static void updateBest(Node node) {
+        for (; node != null; node = node.parent) {
+            int best = node.weight;
+            for (int c = 0; c < node.childCount; c++) {
+                best = Math.max(best, node.children[c].best);
+            }
+            node.best = best;
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int typeIndex(String type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].equals(type)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown suggestion type: " + type);
+    }
+
+    private static final class Node {
+        private String label;
+        private Node parent;
+
+        // Sorted by the first character of their label, which is unique among siblings
+        private Node[] children = new Node[0];
+        private int childCount;
+
+        // Set while the node ends a suggestion
+        private int[] counts;
+        private String text;
+        private int weight;
+
+        // Highest weight of this node and its descendants
+        private int best;
+
+        private Node(String label, Node parent) {
+            this.label = label;
+            this.parent = parent;
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void addChild(Node child) {
+            int insertion = -indexOf(child.label.charAt(0)) - 1;
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            System.arraycopy(children, insertion, children, insertion + 1, childCount - insertion);
+            children[insertion] = child;
+            childCount++;
+        }
+
+        private void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        // The replacement starts with the same character, so it takes the same slot
+        private void replaceChild(Node child, Node replacement) {
+            children[indexOf(child.label.charAt(0))] = replacement;
+        }
+
+        // Inserts a node holding the first characters of a child's label between this node and the child
+        private Node split(Node child, int length) {
+            Node middle = new Node(child.label.substring(0, length), this);
+            replaceChild(child, middle);
+            child.label = child.label.substring(length);
+            child.parent = middle;
+            middle.addChild(child);
+            middle.best = child.best;
+            return middle;
+        }
+
+        // The type the suggestion was added under most often
+        private String type() {
+            int best = 0;
+            for (int i = 1; i < counts.length; i++) {
+                if (counts[i] > counts[best]) {
+                    best = i;
+                }
+            }
+            return TYPES[best];
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        private final Node node;
+        // Key of the suggestion, or the prefix shared by the subtree
+        private final String path;
+        private final boolean terminal;
+        private final int weight;
+
+        private Candidate(Node node, String path, boolean terminal, int weight) {
+            this.node = node;
+            this.path = path;
+            this.terminal = terminal;
+            this.weight = weight;
+        }
+
+        // Heaviest first, then alphabetically; a subtree's keys all sort after its prefix, so
+        // suggestions of equal weight still come out in alphabetical order
+        @Override
+        public int compareTo(Candidate other) {
+            if (weight != other.weight) {
+                return Integer.compare(other.weight, weight);
+            }
+            int byPath = path.compareTo(other.path);
+            if (byPath != 0) {
+                return byPath;
+            }
+            return terminal == other.terminal ? 0 : terminal ? -1 : 1;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits free text into lowercased word tokens for the text indexes, keeping the symbols of
+ * technology names like c++, c# and node.js and dropping common English stop words.
+ */
+public final class TextTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "our", "that", "the", "this", "to", "we", "will", "with", "you", "your"
+    );
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Tokenizes a text.
+     *
+     * @param text The text, may be null
+     * @return The tokens in order of appearance, with repetitions
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase().split("[^a-z0-9+#.]+")) {
+            String word = trimDots(token);
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    // Dots only belong inside a name, not at the end of a sentence
+    private static String trimDots(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && token.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && token.charAt(end - 1) == '.') {
+            end--;
+        }
+        return token.substring(start, end);
+    }
+}
@@ -0,0 +1,417 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.service.JobCatalog;
+import com.ayoub.recruitment.service.JobOfferListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sparse TF-IDF vectors of the job offers over their title, description and skills, with an
+ * inverted index from term to the job offers containing it.
+ * Term frequencies and vector norms are computed when a job offer is written and kept in
+ * primitive arrays; document frequencies are maintained incrementally, so a write only touches
+ * the terms of that job offer. Job offer vectors weigh each term by the idf it had at the last
+ * norm refresh, so stored norms always match the vectors they normalize and cosines stay within
+ * [0, 1]. Cosine similarity is accumulated over the posting lists of the query terms, so job
+ * offers sharing no term with the query are never visited.
+ */
+@Component
+public class TfIdfIndex implements JobOfferListener {
+
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float SKILL_WEIGHT = 3.0f;
+    private static final float TEXT_WEIGHT = 1.0f;
+
+    // Document idfs and norms are recomputed once this share of the postings changed, or the
+    // number of documents drifted this much, since the last refresh
+    private static final double NORM_REFRESH_DRIFT = 0.1;
+
+    private final JobCatalog jobCatalog;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[] documentFrequencies = new int[256];
+    // Idf of each term as of the last norm refresh, 0 until the term is first indexed
+    private double[] documentIdfs = new double[256];
+    private final List<Postings> postings = new ArrayList<>();
+
+    // Documents are addressed by a dense ordinal; ordinals of deleted job offers are reused
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] jobIds = new long[256];
+    private int[][] documentTerms = new int[256][];
+    private float[][] documentWeights = new float[256][];
+    private double[] documentNorms = new double[256];
+    private int ordinalCount;
+    private int documentCount;
+    private int documentCountAtNormRefresh;
+    private long postingCount;
+    private long postingChangesSinceNormRefresh;
+    private volatile boolean loaded;
+
+    public TfIdfIndex(JobCatalog jobCatalog) {
+        this.jobCatalog = jobCatalog;
+    }
+
+    /**
+     * Returns the cosine similarity of a student profile with every indexed job offer sharing at
+     * least one term with it.
+     *
+     * @param studentProfile The student profile
+     * @return Scores by job offer id, without the job offers scoring zero
+     */
+    public Map<Long, Double> score(StudentProfile studentProfile) {
+        ensureLoaded();
+        Map<String, Float> query = studentTerms(studentProfile);
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            accumulate(query, (ordinal, cosine) -> scores.put(jobIds[ordinal], cosine));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the job offers most similar to a student profile.
+     *
+     * @param studentProfile The student profile
+     * @param limit Maximum number of matches
+     * @return Job offer ids with their cosine similarity, best first
+     */
+    public List<TopK.Scored<Long>> findTopMatches(StudentProfile studentProfile, int limit) {
+        ensureLoaded();
+        Map<String, Float> query = studentTerms(studentProfile);
+        TopK<Long> top = new TopK<>(limit);
+
+        lock.readLock().lock();
+        try {
+            accumulate(query, (ordinal, cosine) -> top.offer(jobIds[ordinal], jobIds[ordinal], cosine));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top.toSortedList();
+    }
+
+    /**
+     * Computes the cosine similarity of a student profile and a job offer that need not be indexed,
+     * using the current document frequencies.
+     */
+    public double similarity(StudentProfile studentProfile, String title, String description, String skills) {
+        ensureLoaded();
+        Map<String, Float> query = studentTerms(studentProfile);
+        Map<String, Float> document = jobTerms(title, description, skills);
+
+        lock.readLock().lock();
+        try {
+            double dot = 0.0;
+            double queryNorm = 0.0;
+            for (Map.Entry<String, Float> term : query.entrySet()) {
+                double idf = idf(term.getKey());
+                double queryWeight = logTf(term.getValue()) * idf;
+                queryNorm += queryWeight * queryWeight;
+                Float frequency = document.get(term.getKey());
+                if (frequency != null) {
+                    dot += queryWeight * logTf(frequency) * idf;
+                }
+            }
+            if (dot == 0.0) {
+                return 0.0;
+            }
+
+            double documentNorm = 0.0;
+            for (Map.Entry<String, Float> term : document.entrySet()) {
+                double weight = logTf(term.getValue()) * idf(term.getKey());
+                documentNorm += weight * weight;
+            }
+            return dot / Math.sqrt(queryNorm * documentNorm);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeDocument(jobOffer.getId());
+            addDocument(jobOffer);
+            refreshNormsIfDrifted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeDocument(jobOfferId);
+            refreshNormsIfDrifted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (JobOfferDto jobOffer : jobCatalog.getAll()) {
+                    addDocument(jobOffer);
+                }
+                refreshNorms();
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock; passes the cosine similarity of every document sharing a term
+    // with the query to the consumer. Dot products are summed in a table sized by the postings
+    // visited, so the cost does not grow with the catalog
+    private void accumulate(Map<String, Float> query, OrdinalScores.Consumer consumer) {
+        List<Postings> termPostings = new ArrayList<>();
+        double[] termWeights = new double[query.size()];
+        int visited = 0;
+        double queryNorm = 0.0;
+        for (Map.Entry<String, Float> term : query.entrySet()) {
+            Integer termId = termIds.get(term.getKey());
+            double idf = termId != null ? idf(termId) : unseenIdf();
+            double queryWeight = logTf(term.getValue()) * idf;
+            queryNorm += queryWeight * queryWeight;
+            if (termId == null) {
+                continue;
+            }
+
+            Postings list = postings.get(termId);
+            termWeights[termPostings.size()] = queryWeight * documentIdfs[termId];
+            termPostings.add(list);
+            visited += list.size;
+        }
+        if (visited == 0) {
+            return;
+        }
+
+        OrdinalScores dots = new OrdinalScores(visited);
+        for (int t = 0; t < termPostings.size(); t++) {
+            Postings list = termPostings.get(t);
+            for (int i = 0; i < list.size; i++) {
+                dots.add(list.ordinals[i], termWeights[t] * list.weights[i]);
+            }
+        }
+
+        double norm = Math.sqrt(queryNorm);
+        dots.forEach((ordinal, dot) -> {
+            if (dot > 0.0) {
+                consumer.accept(ordinal, dot / (norm * documentNorms[ordinal]));
+            }
+        });
+    }
+
+    private void addDocument(JobOfferDto jobOffer) {
+        Map<String, Float> terms = jobTerms(jobOffer.getTitle(), jobOffer.getDescription(), jobOffer.getSkills());
+
+        int ordinal = freeOrdinals.isEmpty() ? ordinalCount++ : freeOrdinals.pop();
+        ensureDocumentCapacity(ordinalCount);
+
+        int[] termArray = new int[terms.size()];
+        float[] weightArray = new float[terms.size()];
+        int i = 0;
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            int termId = internTerm(term.getKey());
+            float weight = (float) logTf(term.getValue());
+            termArray[i] = termId;
+            weightArray[i] = weight;
+            documentFrequencies[termId]++;
+            if (documentIdfs[termId] == 0.0) {
+                documentIdfs[termId] = idf(termId);
+            }
+            postings.get(termId).add(ordinal, weight);
+            i++;
+        }
+        postingCount += termArray.length;
+        postingChangesSinceNormRefresh += termArray.length;
+
+        jobIds[ordinal] = jobOffer.getId();
+        documentTerms[ordinal] = termArray;
+        documentWeights[ordinal] = weightArray;
+        ordinals.put(jobOffer.getId(), ordinal);
+        documentCount++;
+        documentNorms[ordinal] = norm(termArray, weightArray);
+    }
+
+    private void removeDocument(Long jobOfferId) {
+        Integer ordinal = ordinals.remove(jobOfferId);
+        if (ordinal == null) {
+            return;
+        }
+        for (int termId : documentTerms[ordinal]) {
+            documentFrequencies[termId]--;
+            postings.get(termId).remove(ordinal);
+        }
+        postingCount -= documentTerms[ordinal].length;
+        postingChangesSinceNormRefresh += documentTerms[ordinal].length;
+        documentTerms[ordinal] = null;
+        documentWeights[ordinal] = null;
+        documentNorms[ordinal] = 0.0;
+        freeOrdinals.push(ordinal);
+        documentCount--;
+    }
+
+    // Updates change document frequencies without moving the document count, so churn of the
+    // postings triggers a refresh as well. Recomputing only reads the stored term weights,
+    // nothing is tokenized again
+    private void refreshNormsIfDrifted() {
+        int drift = Math.abs(documentCount - documentCountAtNormRefresh);
+        if (drift > documentCountAtNormRefresh * NORM_REFRESH_DRIFT
+                || postingChangesSinceNormRefresh > postingCount * NORM_REFRESH_DRIFT) {
+            refreshNorms();
+        }
+    }
+
+    private void refreshNorms() {
+        for (int termId = 0; termId < termIds.size(); termId++) {
+            documentIdfs[termId] = idf(termId);
+        }
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            if (documentTerms[ordinal] != null) {
+                documentNorms[ordinal] = norm(documentTerms[ordinal], documentWeights[ordinal]);
+            }
+        }
+        documentCountAtNormRefresh = documentCount;
+        postingChangesSinceNormRefresh = 0;
+    }
+
+    private double norm(int[] terms, float[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < terms.length; i++) {
+            double weight = weights[i] * documentIdfs[terms[i]];
+            sum += weight * weight;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private double idf(String term) {
+        Integer termId = termIds.get(term);
+        return termId != null ? idf(termId) : unseenIdf();
+    }
+
+    // Smoothed idf, so a term present in every document still weighs something
+    private double idf(int termId) {
+        return Math.log((documentCount + 1.0) / (documentFrequencies[termId] + 1.0)) + 1.0;
+    }
+
+    private double unseenIdf() {
+        return Math.log(documentCount + 1.0) + 1.0;
+    }
+
+    private static double logTf(float frequency) {
+        return 1.0 + Math.log(frequency);
+    }
+
+    private int internTerm(String term) {
+        Integer termId = termIds.get(term);
+        if (termId != null) {
+            return termId;
+        }
+        int id = termIds.size();
+        termIds.put(term, id);
+        postings.add(new Postings());
+        if (id >= documentFrequencies.length) {
+            documentFrequencies = Arrays.copyOf(documentFrequencies, documentFrequencies.length * 2);
+            documentIdfs = Arrays.copyOf(documentIdfs, documentIdfs.length * 2);
+        }
+        return id;
+    }
+
+    private void ensureDocumentCapacity(int capacity) {
+        if (capacity <= jobIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, jobIds.length * 2);
+        jobIds = Arrays.copyOf(jobIds, newLength);
+        documentTerms = Arrays.copyOf(documentTerms, newLength);
+        documentWeights = Arrays.copyOf(documentWeights, newLength);
+        documentNorms = Arrays.copyOf(documentNorms, newLength);
+    }
+
+    private static Map<String, Float> jobTerms(String title, String description, String skills) {
+        Map<String, Float> terms = new HashMap<>();
+        addWords(terms, title, TITLE_WEIGHT);
+        addWords(terms, description, TEXT_WEIGHT);
+        addSkills(terms, skills);
+        return terms;
+    }
+
+    private static Map<String, Float> studentTerms(StudentProfile studentProfile) {
+        Map<String, Float> terms = new HashMap<>();
+        addSkills(terms, studentProfile.getSkills());
+        addWords(terms, studentProfile.getExperience(), TEXT_WEIGHT);
+        return terms;
+    }
+
+    // Multi-word skills count both as a phrase and as their words, so "spring boot" also matches "spring"
+    private static void addSkills(Map<String, Float> terms, String skills) {
+        for (String skill : SkillParser.parseSkills(skills)) {
+            if (skill.indexOf(' ') >= 0) {
+                terms.merge(skill, SKILL_WEIGHT, Float::sum);
+            }
+            addWords(terms, skill, SKILL_WEIGHT);
+        }
+    }
+
+    private static void addWords(Map<String, Float> terms, String text, float weight) {
+        for (String word : TextTokenizer.tokenize(text)) {
+            terms.merge(word, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Posting list of a term: the ordinals of the documents containing it and their log-scaled term frequency.
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+
+        // Order does not matter for scoring, so the last posting fills the gap
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+}
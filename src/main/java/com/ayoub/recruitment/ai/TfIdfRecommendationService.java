@@ -0,0 +1,99 @@
+package com.ayoub.recruitment.ai;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.service.JobCatalog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * RecommendationService ranking job offers by the cosine similarity of TF-IDF vectors over
+ * their title, description and skills, so offers describing a skill only in prose still match.
+ * Enabled with recommendations.scorer=tfidf.
+ */
+@Service
+@ConditionalOnProperty(name = "recommendations.scorer", havingValue = "tfidf")
+public class TfIdfRecommendationService implements RecommendationService {
+
+    private final JobCatalog jobCatalog;
+    private final StudentProfileRepository studentProfileRepository;
+    private final TfIdfIndex tfIdfIndex;
+    private final SkillExtractor skillExtractor;
+
+    public TfIdfRecommendationService(JobCatalog jobCatalog,
+                                      StudentProfileRepository studentProfileRepository,
+                                      TfIdfIndex tfIdfIndex,
+                                      SkillExtractor skillExtractor) {
+        this.jobCatalog = jobCatalog;
+        this.studentProfileRepository = studentProfileRepository;
+        this.tfIdfIndex = tfIdfIndex;
+        this.skillExtractor = skillExtractor;
+    }
+
+    @Override
+    public List<JobOfferDto> recommendJobs(StudentProfile studentProfile, List<JobOfferDto> availableJobs, int limit) {
+        return recommendJobs(studentProfile, availableJobs, 0, limit);
+    }
+
+    @Override
+    public List<JobOfferDto> recommendJobs(StudentProfile studentProfile, List<JobOfferDto> availableJobs, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // One pass over the posting lists scores every indexed job offer at once
+        Map<Long, Double> scores = tfIdfIndex.score(studentProfile);
+
+        TopK<JobOfferDto> topJobs = new TopK<>((int) Math.min(Integer.MAX_VALUE, (long) offset + limit));
+        for (JobOfferDto job : availableJobs) {
+            Double score = job.getId() != null ? scores.get(job.getId()) : null;
+            // Like the precomputed recommendations, leave out jobs sharing no term with the student
+            if (score == null || score <= 0.0) {
+                continue;
+            }
+            topJobs.offer(job, job.getId(), score);
+        }
+
+        return topJobs.page(offset);
+    }
+
+    @Override
+    public List<String> extractSkills(String resumeText) {
+        return skillExtractor.extractSkills(resumeText);
+    }
+
+    @Override
+    public double calculateMatchScore(StudentProfile studentProfile, JobOfferDto jobOffer) {
+        if (studentProfile == null || jobOffer == null) {
+            return 0.0;
+        }
+        return tfIdfIndex.similarity(studentProfile, jobOffer.getTitle(), jobOffer.getDescription(), jobOffer.getSkills());
+    }
+
+    @Override
+    public List<JobOfferDto> getRecommendationsForStudent(long studentId) {
+        return getRecommendationsForStudent(studentId, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<JobOfferDto> getRecommendationsForStudent(long studentId, int limit) {
+        Optional<StudentProfile> studentProfileOpt = studentProfileRepository.findByUserId(studentId);
+        if (studentProfileOpt.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<Long> rankedIds = tfIdfIndex.findTopMatches(studentProfileOpt.get(), limit).stream()
+                .map(TopK.Scored::getItem)
+                .collect(Collectors.toList());
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // The catalog returns the selected job offers in ranking order
+        return jobCatalog.getByIds(rankedIds, true);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ayoub.recruitment.ai;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k best scored items seen so far in a bounded min-heap, so selecting the top k
+ * out of n items costs O(n log k) instead of a full sort.
+ * Ties on score are broken by ascending id, which keeps pages stable between calls.
+ *
+ * @param <T> The type of the selected items
+ */
+public final class TopK<T> {
+
+    // Worst entry first: lowest score, then highest id
+    private static final Comparator<Scored<?>> WORST_FIRST = Comparator
+            .comparingDouble((Scored<?> scored) -> scored.score)
+            .thenComparing(Comparator.comparingLong((Scored<?> scored) -> scored.id).reversed());
+
+    private final int k;
+    private final PriorityQueue<Scored<T>> heap;
+
+    public TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, WORST_FIRST);
+    }
+
+    /**
+     * Offers an item; it is kept only if it ranks among the k best seen so far.
+     *
+     * @param item The item
+     * @param id Tie-breaking id, lower ids rank first on equal scores
+     * @param score The item's score, higher is better
+     * @return true if the item was kept
+     */
+    public boolean offer(T item, long id, double score) {
+        if (heap.size() < k) {
+            heap.add(new Scored<>(item, id, score));
+            return true;
+        }
+        Scored<T> worst = heap.peek();
+        if (worst != null && (score > worst.score || (score == worst.score && id < worst.id))) {
+            heap.poll();
+            heap.add(new Scored<>(item, id, score));
+            return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the selected items, best first.
+     */
+    public List<Scored<T>> toSortedList() {
+        List<Scored<T>> sorted = new ArrayList<>(heap);
+        sorted.sort(WORST_FIRST.reversed());
+        return sorted;
+    }
+
+    /**
+     * Returns the selected items best first, skipping the first {@code offset} ones.
+     */
+    public List<T> page(int offset) {
+        List<Scored<T>> sorted = toSortedList();
+        List<T> page = new ArrayList<>(Math.max(0, sorted.size() - offset));
+        for (int i = offset; i < sorted.size(); i++) {
+            page.add(sorted.get(i).getItem());
+        }
+        return page;
+    }
+
+    /**
+     * An item together with its score and tie-breaking id.
+     */
+    public static final class Scored<T> {
+        private final T item;
+        private final long id;
+        private final double score;
+
+        public Scored(T item, long id, double score) {
+            this.item = item;
+            this.id = id;
+            this.score = score;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -9,7 +9,14 @@ import org.springframework.util.FileSystemUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.MalformedURLException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -83,6 +90,65 @@ public class FileStorageConfig {
             }
         }
 
+        public boolean exists(String filename) {
+            Path file = resolve(filename);
+            return file != null && Files.isRegularFile(file);
+        }
+
+        public InputStream openInputStream(String filename) {
+            Path file = resolve(filename);
+            if (file == null || !Files.isRegularFile(file)) {
+                throw new RuntimeException("Could not read file: " + filename);
+            }
+            try {
+                return Files.newInputStream(file);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read file: " + filename, e);
+            }
+        }
+
+        // Decodes the file as UTF-8 while it is read, replacing malformed input instead of failing,
+        // so callers can process large files in chunks without loading them on the heap
+        public Reader openReader(String filename) {
+            return new InputStreamReader(openInputStream(filename), StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        }
+
+        // Creates or replaces a UTF-8 text file in the storage directory, e.g. a derived artifact
+        public Writer openWriter(String filename) {
+            Path file = resolve(filename);
+            if (file == null) {
+                throw new RuntimeException("Cannot store file outside current directory");
+            }
+            try {
+                return new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to store file", e);
+            }
+        }
+
+        // Replaces a file of the storage directory by another one, so readers see either file whole
+        public void move(String source, String target) {
+            Path from = resolve(source);
+            Path to = resolve(target);
+            if (from == null || to == null) {
+                throw new RuntimeException("Cannot store file outside current directory");
+            }
+            try {
+                Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to store file", e);
+            }
+        }
+
+        // Returns null for names escaping the storage directory
+        private Path resolve(String filename) {
+            Path root = rootLocation.toAbsolutePath().normalize();
+            Path file = root.resolve(filename).normalize();
+            return file.getParent() != null && file.getParent().equals(root) ? file : null;
+        }
+
         public void deleteAll() {
             FileSystemUtils.deleteRecursively(rootLocation.toFile());
         }
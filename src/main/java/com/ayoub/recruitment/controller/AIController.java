@@ -1,64 +1,219 @@
 package com.ayoub.recruitment.controller;
 
+import com.ayoub.recruitment.ai.CandidateRecommendationService;
+import com.ayoub.recruitment.ai.ModelSalaryPredictionService;
+import com.ayoub.recruitment.ai.RecommendationBatchService;
+import com.ayoub.recruitment.ai.RecommendationCache;
 import com.ayoub.recruitment.ai.RecommendationService;
+import com.ayoub.recruitment.ai.RecommendationStreamService;
+import com.ayoub.recruitment.ai.ResumeAnalysisService;
+import com.ayoub.recruitment.ai.SalaryBatchService;
 import com.ayoub.recruitment.ai.SalaryPredictionService;
+import com.ayoub.recruitment.dto.CandidateDto;
 import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.RecommendationSnapshot;
+import com.ayoub.recruitment.dto.StudentSalaryPredictionDto;
 import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.User;
+import com.ayoub.recruitment.model.UserRole;
 import com.ayoub.recruitment.repository.StudentProfileRepository;
 import com.ayoub.recruitment.security.SecurityUtils;
 import com.ayoub.recruitment.service.JobOfferService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/ai")
 public class AIController {
 
+    private static final int MAX_STREAMED_RECOMMENDATIONS = 200;
+
     private final RecommendationService recommendationService;
+    private final RecommendationBatchService recommendationBatchService;
+    private final RecommendationCache recommendationCache;
+    private final RecommendationStreamService recommendationStreamService;
+    private final CandidateRecommendationService candidateRecommendationService;
     private final SalaryPredictionService salaryPredictionService;
+    private final Optional<ModelSalaryPredictionService> salaryModelService;
+    private final SalaryBatchService salaryBatchService;
+    private final ResumeAnalysisService resumeAnalysisService;
     private final StudentProfileRepository studentProfileRepository;
     private final JobOfferService jobOfferService;
     private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
 
     public AIController(
             RecommendationService recommendationService,
+            RecommendationBatchService recommendationBatchService,
+            RecommendationCache recommendationCache,
+            RecommendationStreamService recommendationStreamService,
+            CandidateRecommendationService candidateRecommendationService,
             SalaryPredictionService salaryPredictionService,
+            Optional<ModelSalaryPredictionService> salaryModelService,
+            SalaryBatchService salaryBatchService,
+            ResumeAnalysisService resumeAnalysisService,
             StudentProfileRepository studentProfileRepository,
             JobOfferService jobOfferService,
-            SecurityUtils securityUtils) {
+            SecurityUtils securityUtils,
+            ObjectMapper objectMapper) {
         this.recommendationService = recommendationService;
+        this.recommendationBatchService = recommendationBatchService;
+        this.recommendationCache = recommendationCache;
+        this.recommendationStreamService = recommendationStreamService;
+        this.candidateRecommendationService = candidateRecommendationService;
         this.salaryPredictionService = salaryPredictionService;
+        this.salaryModelService = salaryModelService;
+        this.salaryBatchService = salaryBatchService;
+        this.resumeAnalysisService = resumeAnalysisService;
         this.studentProfileRepository = studentProfileRepository;
         this.jobOfferService = jobOfferService;
         this.securityUtils = securityUtils;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/recommend")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<List<JobOfferDto>> getJobRecommendations(
+            @RequestParam(defaultValue = "0") int offset,
             @RequestParam(defaultValue = "5") int limit) {
         Long userId = securityUtils.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(401).build();
         }
+        
+        if (offset < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
 
         // Get student profile
         StudentProfile studentProfile = studentProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Student profile not found"));
 
+        List<JobOfferDto> recommendations = recommendationCache.get(studentProfile, offset, limit,
+                () -> computeRecommendations(studentProfile, offset, limit));
+
+        return ResponseEntity.ok(recommendations);
+    }
+
+    private List<JobOfferDto> computeRecommendations(StudentProfile studentProfile, int offset, int limit) {
+        // Serve the nightly precomputed recommendations while they are still valid for this profile
+        Optional<List<Long>> precomputedJobIds = recommendationBatchService.findPrecomputedJobIds(
+                studentProfile, offset, limit);
+        if (precomputedJobIds.isPresent()) {
+            return jobOfferService.getJobOffersByIds(precomputedJobIds.get());
+        }
+
         // Get all available jobs
         List<JobOfferDto> availableJobs = jobOfferService.getAllJobOffers();
 
         // Get recommendations
-        List<JobOfferDto> recommendations = recommendationService.recommendJobs(
-                studentProfile, availableJobs, limit);
+        return recommendationService.recommendJobs(studentProfile, availableJobs, offset, limit);
+    }
 
-        return ResponseEntity.ok(recommendations);
+    @GetMapping(value = "/recommend/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<StreamingResponseBody> streamJobRecommendations(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Long userId = securityUtils.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+        
+        // Every snapshot carries the whole top list, so the output grows with chunks times limit
+        if (limit < 1 || limit > MAX_STREAMED_RECOMMENDATIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StudentProfile studentProfile = studentProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Student profile not found"));
+
+        // Server-sent events when asked for, newline-delimited JSON otherwise
+        boolean serverSentEvents = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        StreamingResponseBody body = outputStream -> recommendationStreamService.streamRecommendations(
+                studentProfile, limit, snapshot -> writeSnapshot(outputStream, snapshot, serverSentEvents));
+
+        return ResponseEntity.ok()
+                .contentType(serverSentEvents ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Flushes every snapshot, so the client receives it before the next chunk is scored
+    private void writeSnapshot(OutputStream outputStream, RecommendationSnapshot snapshot, boolean serverSentEvents) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(snapshot);
+            if (serverSentEvents) {
+                String event = snapshot.isComplete() ? "complete" : "partial";
+                outputStream.write(("event: " + event + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+                outputStream.write(json);
+                outputStream.write("\n\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                outputStream.write(json);
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            // The client went away, stop scoring
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/recommend/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getRecommendationCacheStats() {
+        return ResponseEntity.ok(recommendationCache.getStats());
+    }
+
+    @PostMapping("/recommend/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> runRecommendationBatch() {
+        int processed = recommendationBatchService.runBatch();
+        if (processed < 0) {
+            return ResponseEntity.status(409).build();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("processedStudents", processed);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/candidates/{jobOfferId}")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<List<CandidateDto>> getTopCandidates(
+            @PathVariable Long jobOfferId,
+            @RequestParam(defaultValue = "10") int limit) {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Recruiters can only view candidates for their own job offers unless they are admins
+        JobOfferDto jobOffer = jobOfferService.getJobOfferById(jobOfferId);
+        if (currentUser.getRole() != UserRole.ADMIN && !currentUser.getId().equals(jobOffer.getRecruiterId())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        List<CandidateDto> candidates = candidateRecommendationService.findTopCandidates(jobOffer, limit);
+        return ResponseEntity.ok(candidates);
     }
 
     @GetMapping("/salary")
@@ -86,10 +241,96 @@ public class AIController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/salary/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> predictCohortSalaries(@RequestBody List<Long> studentIds) {
+        if (studentIds.isEmpty() || studentIds.size() > salaryBatchService.getMaxStudents()
+                || studentIds.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // One prediction per line, written as soon as its chunk has been predicted
+        StreamingResponseBody body = outputStream -> salaryBatchService.predictCohort(studentIds,
+                prediction -> writePrediction(outputStream, prediction));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writePrediction(OutputStream outputStream, StudentSalaryPredictionDto prediction) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(prediction));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            // The client went away, stop predicting
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/salary/model")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSalaryModelInfo() {
+        // Only the learned predictor has a model to report on
+        return salaryModelService
+                .map(service -> ResponseEntity.ok(service.getModelInfo()))
+                .orElseGet(() -> ResponseEntity.status(404).build());
+    }
+
+    @PostMapping("/salary/model/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> publishSalaryModel() {
+        if (salaryModelService.isEmpty()) {
+            return ResponseEntity.status(404).build();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", salaryModelService.get().publishSnapshot());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/salary/model/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reloadSalaryModel() {
+        if (salaryModelService.isEmpty()) {
+            return ResponseEntity.status(404).build();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", salaryModelService.get().reloadIfNewer());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/skills")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<List<String>> extractSkills(@RequestParam String resumeText) {
         List<String> skills = recommendationService.extractSkills(resumeText);
         return ResponseEntity.ok(skills);
     }
+
+    @GetMapping("/skills/resume/{filename:.+}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<String>> extractSkillsFromResume(@PathVariable String filename) {
+        Long userId = securityUtils.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        // Resumes of other students are reported as missing
+        boolean ownResume = studentProfileRepository.findByUserId(userId)
+                .map(StudentProfile::getResumeUrl)
+                .filter(resumeUrl -> resumeUrl.endsWith("/files/" + filename))
+                .isPresent();
+        if (!ownResume || !resumeAnalysisService.resumeExists(filename)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!resumeAnalysisService.isSupported(filename)) {
+            return ResponseEntity.status(415).build();
+        }
+
+        // The stored file is streamed through the matcher instead of being sent as a query string
+        List<String> skills = resumeAnalysisService.extractSkills(filename);
+        return ResponseEntity.ok(skills);
+    }
 }
@@ -1,7 +1,9 @@
 package com.ayoub.recruitment.controller;
 
 import com.ayoub.recruitment.config.FileStorageConfig.FileStorageService;
+import com.ayoub.recruitment.dto.ResumeProcessingJobDto;
 import com.ayoub.recruitment.security.SecurityUtils;
+import com.ayoub.recruitment.service.ResumeProcessingService;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -13,22 +15,32 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/files")
 public class FileUploadController {
 
     private final FileStorageService fileStorageService;
+    private final ResumeProcessingService resumeProcessingService;
     private final SecurityUtils securityUtils;
 
-    public FileUploadController(FileStorageService fileStorageService, SecurityUtils securityUtils) {
+    public FileUploadController(FileStorageService fileStorageService,
+                                ResumeProcessingService resumeProcessingService,
+                                SecurityUtils securityUtils) {
         this.fileStorageService = fileStorageService;
+        this.resumeProcessingService = resumeProcessingService;
         this.securityUtils = securityUtils;
     }
 
     @PostMapping("/upload/resume")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<Map<String, String>> uploadResume(@RequestParam("file") MultipartFile file) {
+        Long userId = securityUtils.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
         String filename = fileStorageService.store(file);
         
         String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
@@ -41,10 +53,40 @@ public class FileUploadController {
         response.put("fileDownloadUri", fileDownloadUri);
         response.put("fileType", file.getContentType());
         response.put("size", String.valueOf(file.getSize()));
+
+        // PDF and DOC resumes are kept for applications, but their text is not extracted
+        if (!resumeProcessingService.supports(filename)) {
+            response.put("warning", "Skills are only extracted from DOCX and plain text resumes");
+            return ResponseEntity.ok(response);
+        }
+
+        // Text and skill extraction happen in the background, the client polls the job
+        Optional<ResumeProcessingJobDto> job = resumeProcessingService.submit(userId, filename);
+        if (job.isEmpty()) {
+            response.put("error", "Resume processing queue is full, please retry later");
+            return ResponseEntity.status(503).body(response);
+        }
+        response.put("jobId", job.get().getJobId());
+        response.put("jobStatus", job.get().getStatus().name());
         
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/resume/jobs/{jobId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ResumeProcessingJobDto> getResumeProcessingJob(@PathVariable String jobId) {
+        Long userId = securityUtils.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        // Jobs of other students are reported as missing
+        return resumeProcessingService.getJob(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{filename:.+}")
     public ResponseEntity<Resource> downloadFile(@PathVariable String filename) {
         Resource resource = fileStorageService.loadAsResource(filename);
@@ -1,21 +1,30 @@
 package com.ayoub.recruitment.controller;
 
 import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.JobOfferPage;
+import com.ayoub.recruitment.dto.JobSearchFilter;
+import com.ayoub.recruitment.dto.JobSearchResultDto;
+import com.ayoub.recruitment.dto.SuggestionDto;
 import com.ayoub.recruitment.model.User;
 import com.ayoub.recruitment.model.UserRole;
 import com.ayoub.recruitment.security.SecurityUtils;
 import com.ayoub.recruitment.service.JobOfferService;
+import com.ayoub.recruitment.service.PageCursor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/joboffers")
 public class JobOfferController {
 
+    // Pages are a JSON array of job offers; the cursor of the next page, if any, comes in this header
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final JobOfferService jobOfferService;
     private final SecurityUtils securityUtils;
 
@@ -25,9 +34,22 @@ public class JobOfferController {
     }
 
     @GetMapping
-    public ResponseEntity<List<JobOfferDto>> getAllJobOffers() {
-        List<JobOfferDto> jobOffers = jobOfferService.getAllJobOffers();
-        return ResponseEntity.ok(jobOffers);
+    public ResponseEntity<List<JobOfferDto>> getAllJobOffers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "true") boolean includeDescription) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PageCursor pageCursor;
+        try {
+            pageCursor = cursor != null ? PageCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return toResponse(jobOfferService.getJobOffersPage(pageCursor, limit, includeDescription));
     }
 
     @GetMapping("/{id}")
@@ -37,16 +59,44 @@ public class JobOfferController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<JobOfferDto>> searchJobOffers(@RequestParam String keyword) {
-        List<JobOfferDto> jobOffers = jobOfferService.searchJobOffers(keyword);
-        return ResponseEntity.ok(jobOffers);
+    public ResponseEntity<JobSearchResultDto> searchJobOffers(
+            @RequestParam(required = false) String keyword,
+            JobSearchFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "true") boolean includeDescription) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PageCursor pageCursor;
+        try {
+            pageCursor = cursor != null ? PageCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Search results carry their facets and total, so the cursor travels in the body
+        return ResponseEntity.ok(jobOfferService.searchJobOffers(keyword, filter, pageCursor, limit, includeDescription));
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(jobOfferService.suggest(prefix, limit));
+    }
+
     @GetMapping("/recruiter/{recruiterId}")
     @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
     public ResponseEntity<List<JobOfferDto>> getJobOffersByRecruiterId(
             @PathVariable Long recruiterId,
-            @RequestParam(required = false) Integer limit) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "true") boolean includeDescription) {
         Long currentUserId = securityUtils.getCurrentUserId();
         if (currentUserId == null) {
             return ResponseEntity.status(401).build();
@@ -58,8 +108,18 @@ public class JobOfferController {
             return ResponseEntity.status(403).build();
         }
         
-        List<JobOfferDto> jobOffers = jobOfferService.getJobOffersByRecruiterId(recruiterId, Optional.ofNullable(limit));
-        return ResponseEntity.ok(jobOffers);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PageCursor pageCursor;
+        try {
+            pageCursor = cursor != null ? PageCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return toResponse(jobOfferService.getJobOffersPageByRecruiterId(recruiterId, pageCursor, limit, includeDescription));
     }
 
     @PostMapping
@@ -99,4 +159,12 @@ public class JobOfferController {
         jobOfferService.deleteJobOffer(recruiterId, id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<List<JobOfferDto>> toResponse(JobOfferPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getJobOffers());
+    }
 }
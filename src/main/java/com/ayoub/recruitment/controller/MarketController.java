@@ -0,0 +1,62 @@
+package com.ayoub.recruitment.controller;
+
+import com.ayoub.recruitment.ai.SalaryDistributionIndex;
+import com.ayoub.recruitment.dto.SalaryDistributionDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/market")
+public class MarketController {
+
+    private static final String DEFAULT_QUANTILES = "0.1,0.25,0.5,0.75,0.9";
+
+    private final SalaryDistributionIndex salaryDistributionIndex;
+
+    public MarketController(SalaryDistributionIndex salaryDistributionIndex) {
+        this.salaryDistributionIndex = salaryDistributionIndex;
+    }
+
+    @GetMapping("/salaries/skills/{skill}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SalaryDistributionDto> getSkillSalaries(
+            @PathVariable String skill,
+            @RequestParam(defaultValue = DEFAULT_QUANTILES) List<Double> quantiles) {
+        if (!isValid(quantiles)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return salaryDistributionIndex.forSkill(skill, quantiles)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/salaries/companies/{company}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SalaryDistributionDto> getCompanySalaries(
+            @PathVariable String company,
+            @RequestParam(defaultValue = DEFAULT_QUANTILES) List<Double> quantiles) {
+        if (!isValid(quantiles)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return salaryDistributionIndex.forCompany(company, quantiles)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/salaries/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildSalaryDistributions() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobOffers", salaryDistributionIndex.rebuild());
+        return ResponseEntity.ok(response);
+    }
+
+    private static boolean isValid(List<Double> quantiles) {
+        return !quantiles.isEmpty() && quantiles.stream().allMatch(q -> q != null && q >= 0.0 && q <= 1.0);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateDto {
+    private Long studentId;
+    private String email;
+    private String fullName;
+    private String education;
+    private String skills;
+    private Double matchScore;
+}
@@ -0,0 +1,16 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobOfferPage {
+    private List<JobOfferDto> jobOffers;
+    // Cursor of the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchFilter {
+    // Offers paying at least this much at the top of their range
+    private Double minSalary;
+    // Offers starting at most this much
+    private Double maxSalary;
+    private List<String> companies;
+    private List<String> skills;
+    // "all" requires every skill, "any" at least one
+    private String skillMatch = "all";
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdAfter;
+
+    public boolean isMatchAnySkill() {
+        return "any".equalsIgnoreCase(skillMatch);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchResultDto {
+    private List<JobOfferDto> jobOffers;
+    // Cursor of the next page, null on the last page
+    private String nextCursor;
+    private Long totalHits;
+    // Facet name ("company", "skills", "salary") -> value -> number of matching job offers
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,16 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationSnapshot {
+    private int scannedJobs;
+    private boolean complete;
+    private List<JobOfferDto> recommendations;
+}
@@ -0,0 +1,20 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryDistributionDto {
+    private String key;
+    private Long offerCount;
+    private Double lowestSalary;
+    private Double highestSalary;
+    // Quantile label such as "p50" -> estimated salary
+    private Map<String, Double> minSalaryQuantiles;
+    private Map<String, Double> maxSalaryQuantiles;
+}
@@ -0,0 +1,17 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSalaryPredictionDto {
+    private Long studentId;
+    // False when the student has no profile; the salary fields are then null
+    private boolean found;
+    private Double minSalary;
+    private Double maxSalary;
+    private Double confidenceScore;
+}
@@ -0,0 +1,16 @@
+package com.ayoub.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+    private String text;
+    // "title", "company" or "skill"
+    private String type;
+    // Number of job offers using it
+    private int weight;
+}
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "job_offers")
+@Table(name = "job_offers", indexes = {
+        @Index(name = "idx_job_offers_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_job_offers_recruiter_created_at_id", columnList = "recruiter_id, created_at, id")
+})
 public class JobOffer {
     
     @Id
@@ -0,0 +1,38 @@
+package com.ayoub.recruitment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "student_recommendations", indexes = {
+        @Index(name = "idx_student_recommendations_student", columnList = "student_id, position")
+})
+public class StudentRecommendation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // User id of the student, as used by /ai/recommend
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+    
+    @Column(name = "job_offer_id", nullable = false)
+    private Long jobOfferId;
+    
+    // 0-based rank of the job offer in the student's recommendations
+    @Column(nullable = false)
+    private Integer position;
+    
+    @Column(nullable = false)
+    private Double score;
+    
+    // Start time of the batch run that produced this row
+    @Column(name = "computed_at", nullable = false)
+    private java.time.LocalDateTime computedAt;
+}
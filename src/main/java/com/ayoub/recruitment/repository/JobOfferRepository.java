@@ -1,11 +1,14 @@
 package com.ayoub.recruitment.repository;
 
+import com.ayoub.recruitment.dto.JobOfferDto;
 import com.ayoub.recruitment.model.JobOffer;
 import com.ayoub.recruitment.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,4 +22,32 @@ public interface JobOfferRepository extends JpaRepository<JobOffer, Long> {
            "LOWER(j.companyName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(j.skills) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<JobOffer> searchByKeyword(String keyword);
+
+    // Listing projections select the JobOfferDto columns in one joined query, without loading entities;
+    // the description TEXT column is only read when includeDescription is true
+    String DTO_SELECT = "SELECT new com.ayoub.recruitment.dto.JobOfferDto(j.id, r.id, r.email, j.title, " +
+            "CASE WHEN :includeDescription = TRUE THEN j.description ELSE NULL END, " +
+            "j.companyName, j.salaryMin, j.salaryMax, j.skills, j.createdAt) " +
+            "FROM JobOffer j JOIN j.recruiter r ";
+
+    @Query(DTO_SELECT)
+    List<JobOfferDto> findAllDtos(boolean includeDescription);
+
+    // Keyset pages, newest first; the (created_at, id) indexes make every page a range scan
+    @Query(DTO_SELECT + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobOfferDto> findNewestDtos(boolean includeDescription, Pageable pageable);
+
+    @Query(DTO_SELECT +
+           "WHERE j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id) " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobOfferDto> findNewestDtosBefore(LocalDateTime createdAt, Long id, boolean includeDescription, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE r.id = :recruiterId ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobOfferDto> findNewestDtosByRecruiterId(Long recruiterId, boolean includeDescription, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE r.id = :recruiterId " +
+           "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobOfferDto> findNewestDtosByRecruiterIdBefore(Long recruiterId, LocalDateTime createdAt, Long id,
+                                                        boolean includeDescription, Pageable pageable);
 }
@@ -3,12 +3,27 @@ package com.ayoub.recruitment.repository;
 import com.ayoub.recruitment.model.StudentProfile;
 import com.ayoub.recruitment.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentProfileRepository extends JpaRepository<StudentProfile, Long> {
     Optional<StudentProfile> findByUser(User user);
     Optional<StudentProfile> findByUserId(Long userId);
+    
+    @Query("SELECT MIN(s.id) FROM StudentProfile s")
+    Long findMinId();
+    
+    @Query("SELECT MAX(s.id) FROM StudentProfile s")
+    Long findMaxId();
+    
+    @Query("SELECT s FROM StudentProfile s JOIN FETCH s.user WHERE s.id BETWEEN :fromId AND :toId")
+    List<StudentProfile> findByIdBetween(Long fromId, Long toId);
+    
+    @Query("SELECT s FROM StudentProfile s JOIN FETCH s.user WHERE s.user.id IN :userIds")
+    List<StudentProfile> findByUserIdIn(Collection<Long> userIds);
 }
@@ -0,0 +1,19 @@
+package com.ayoub.recruitment.repository;
+
+import com.ayoub.recruitment.model.StudentRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentRecommendationRepository extends JpaRepository<StudentRecommendation, Long> {
+    List<StudentRecommendation> findByStudentIdOrderByPositionAsc(Long studentId);
+    
+    @Modifying
+    @Query("DELETE FROM StudentRecommendation r WHERE r.studentId IN :studentIds")
+    void deleteByStudentIdIn(Collection<Long> studentIds);
+}
@@ -0,0 +1,241 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-memory copy of the job offer catalog for the read paths. The catalog is an immutable
+ * snapshot, an array of job records in id order with an id -> position hash table, that
+ * JobOfferService writes replace with a patched copy. Readers only read a volatile reference, so
+ * they never lock or wait for a writer, and a lookup allocates nothing but the returned DTO.
+ * The snapshot is loaded on first use.
+ *
+ * <p>The in-memory indexes build themselves from this catalog rather than from the database, so
+ * it is notified of writes before every other listener: an index that loads while a write is
+ * being dispatched reads a catalog that already holds it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JobCatalog implements JobOfferListener {
+
+    private final JobOfferRepository jobOfferRepository;
+
+    // Serializes the initial load and the patches; readers never take it
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public JobCatalog(JobOfferRepository jobOfferRepository) {
+        this.jobOfferRepository = jobOfferRepository;
+    }
+
+    public Optional<JobOfferDto> get(long id) {
+        Snapshot current = current();
+        int position = current.positionOf(id);
+        return position >= 0 ? Optional.of(current.records[position].toDto(true)) : Optional.empty();
+    }
+
+    /**
+     * Returns every job offer, in id order.
+     */
+    public List<JobOfferDto> getAll() {
+        JobRecord[] records = current().records;
+        List<JobOfferDto> jobOffers = new ArrayList<>(records.length);
+        for (JobRecord record : records) {
+            jobOffers.add(record.toDto(true));
+        }
+        return jobOffers;
+    }
+
+    /**
+     * Returns job offers in the order of the given ids, skipping unknown ids.
+     *
+     * @param includeDescription Whether to fill in the descriptions
+     */
+    public List<JobOfferDto> getByIds(List<Long> ids, boolean includeDescription) {
+        Snapshot current = current();
+        List<JobOfferDto> jobOffers = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            int position = current.positionOf(id);
+            if (position >= 0) {
+                jobOffers.add(current.records[position].toDto(includeDescription));
+            }
+        }
+        return jobOffers;
+    }
+
+    /**
+     * Returns the job offers following an id, in id order.
+     *
+     * @param afterId Id of the last job offer of the previous chunk, 0 for the first chunk
+     * @param size Maximum number of job offers
+     */
+    public List<JobOfferDto> getAfterId(long afterId, int size) {
+        Snapshot current = current();
+        int start = Arrays.binarySearch(current.ids, afterId);
+        start = start >= 0 ? start + 1 : -start - 1;
+        int end = (int) Math.min(current.ids.length, (long) start + Math.max(size, 0));
+        List<JobOfferDto> jobOffers = new ArrayList<>(Math.max(end - start, 0));
+        for (int position = start; position < end; position++) {
+            jobOffers.add(current.records[position].toDto(true));
+        }
+        return jobOffers;
+    }
+
+    @Override
+    public void onJobOfferSaved(JobOfferDto jobOffer) {
+        synchronized (writeLock) {
+            // Without a snapshot, the initial load will read the job offer from the database
+            if (snapshot != null) {
+                snapshot = snapshot.with(JobRecord.of(jobOffer));
+            }
+        }
+    }
+
+    @Override
+    public void onJobOfferDeleted(Long jobOfferId) {
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                snapshot = snapshot.without(jobOfferId);
+            }
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                List<JobRecord> records = new ArrayList<>();
+                for (JobOfferDto jobOffer : jobOfferRepository.findAllDtos(true)) {
+                    records.add(JobRecord.of(jobOffer));
+                }
+                records.sort(Comparator.comparingLong(record -> record.id));
+                snapshot = new Snapshot(records.toArray(new JobRecord[0]));
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Immutable catalog: records sorted by id, and an open-addressing table from id to position.
+     */
+    private static final class Snapshot {
+        private final JobRecord[] records;
+        private final long[] ids;
+
+        // position + 1 per slot, 0 for an empty slot; keys are read from ids
+        private final int[] table;
+        private final int mask;
+
+        private Snapshot(JobRecord[] records) {
+            this.records = records;
+            this.ids = new long[records.length];
+            // At most half full, so probe sequences stay short
+            int capacity = Integer.highestOneBit(Math.max(4, records.length * 2 - 1)) << 1;
+            this.table = new int[capacity];
+            this.mask = capacity - 1;
+            for (int position = 0; position < records.length; position++) {
+                ids[position] = records[position].id;
+                int slot = slot(ids[position]);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = position + 1;
+            }
+        }
+
+        private int positionOf(long id) {
+            for (int slot = slot(id); table[slot] != 0; slot = (slot + 1) & mask) {
+                if (ids[table[slot] - 1] == id) {
+                    return table[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        private int slot(long id) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+
+        // Returns a copy with the record added, or replacing the record with the same id
+        private Snapshot with(JobRecord record) {
+            int position = Arrays.binarySearch(ids, record.id);
+            JobRecord[] patched;
+            if (position >= 0) {
+                patched = records.clone();
+                patched[position] = record;
+            } else {
+                int insertion = -position - 1;
+                patched = new JobRecord[records.length + 1];
+                System.arraycopy(records, 0, patched, 0, insertion);
+                patched[insertion] = record;
+                System.arraycopy(records, insertion, patched, insertion + 1, records.length - insertion);
+            }
+            return new Snapshot(patched);
+        }
+
+        private Snapshot without(long id) {
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return this;
+            }
+            JobRecord[] patched = new JobRecord[records.length - 1];
+            System.arraycopy(records, 0, patched, 0, position);
+            System.arraycopy(records, position + 1, patched, position, records.length - position - 1);
+            return new Snapshot(patched);
+        }
+    }
+
+    /**
+     * Immutable job offer, with only the fields of JobOfferDto. Salaries absent from the job
+     * offer are stored as NaN.
+     */
+    private static final class JobRecord {
+        private final long id;
+        private final Long recruiterId;
+        private final String recruiterEmail;
+        private final String title;
+        private final String description;
+        private final String companyName;
+        private final double salaryMin;
+        private final double salaryMax;
+        private final String skills;
+        private final LocalDateTime createdAt;
+
+        private JobRecord(long id, Long recruiterId, String recruiterEmail, String title, String description,
+                          String companyName, Double salaryMin, Double salaryMax, String skills,
+                          LocalDateTime createdAt) {
+            this.id = id;
+            this.recruiterId = recruiterId;
+            this.recruiterEmail = recruiterEmail;
+            this.title = title;
+            this.description = description;
+            this.companyName = companyName;
+            this.salaryMin = salaryMin != null ? salaryMin : Double.NaN;
+            this.salaryMax = salaryMax != null ? salaryMax : Double.NaN;
+            this.skills = skills;
+            this.createdAt = createdAt;
+        }
+
+        private static JobRecord of(JobOfferDto jobOffer) {
+            return new JobRecord(jobOffer.getId(), jobOffer.getRecruiterId(), jobOffer.getRecruiterEmail(),
+                    jobOffer.getTitle(), jobOffer.getDescription(), jobOffer.getCompanyName(),
+                    jobOffer.getSalaryMin(), jobOffer.getSalaryMax(), jobOffer.getSkills(), jobOffer.getCreatedAt());
+        }
+
+        // DTOs are mutable, so every read gets its own
+        private JobOfferDto toDto(boolean includeDescription) {
+            return new JobOfferDto(id, recruiterId, recruiterEmail, title, includeDescription ? description : null,
+                    companyName, Double.isNaN(salaryMin) ? null : salaryMin, Double.isNaN(salaryMax) ? null : salaryMax,
+                    skills, createdAt);
+        }
+    }
+}
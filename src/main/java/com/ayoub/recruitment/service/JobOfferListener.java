@@ -0,0 +1,28 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+
+/**
+ * Callback for components that keep in-memory state derived from job offers.
+ * JobOfferService notifies every registered listener once a write has been committed.
+ *
+ * <p>Listeners that load their state lazily read it from JobCatalog, which is notified first, and
+ * may ignore events until they have loaded: the load will see the write in the catalog. A load in
+ * progress must hold the lock the callbacks take, so a write waits for it instead of being dropped.
+ */
+public interface JobOfferListener {
+
+    /**
+     * Called after a job offer has been created or updated.
+     *
+     * @param jobOffer The saved job offer, as returned to the caller; listeners must not modify it
+     */
+    void onJobOfferSaved(JobOfferDto jobOffer);
+
+    /**
+     * Called after a job offer has been deleted.
+     *
+     * @param jobOfferId The id of the deleted job offer
+     */
+    void onJobOfferDeleted(Long jobOfferId);
+}
@@ -1,17 +1,24 @@
 package com.ayoub.recruitment.service;
 
+import com.ayoub.recruitment.ai.JobSearchIndex;
+import com.ayoub.recruitment.ai.JobSuggestIndex;
+import com.ayoub.recruitment.ai.TopK;
 import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.JobOfferPage;
+import com.ayoub.recruitment.dto.JobSearchFilter;
+import com.ayoub.recruitment.dto.JobSearchResultDto;
+import com.ayoub.recruitment.dto.SuggestionDto;
 import com.ayoub.recruitment.model.JobOffer;
 import com.ayoub.recruitment.model.User;
 import com.ayoub.recruitment.model.UserRole;
 import com.ayoub.recruitment.repository.JobOfferRepository;
 import com.ayoub.recruitment.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,45 +26,128 @@ public class JobOfferService {
 
     private final JobOfferRepository jobOfferRepository;
     private final UserRepository userRepository;
-
-    public JobOfferService(JobOfferRepository jobOfferRepository, UserRepository userRepository) {
+    private final JobSearchIndex jobSearchIndex;
+    private final JobSuggestIndex jobSuggestIndex;
+    private final JobCatalog jobCatalog;
+    private final List<JobOfferListener> listeners;
+
+    public JobOfferService(JobOfferRepository jobOfferRepository, UserRepository userRepository,
+                           JobSearchIndex jobSearchIndex, JobSuggestIndex jobSuggestIndex,
+                           JobCatalog jobCatalog, List<JobOfferListener> listeners) {
         this.jobOfferRepository = jobOfferRepository;
         this.userRepository = userRepository;
+        this.jobSearchIndex = jobSearchIndex;
+        this.jobSuggestIndex = jobSuggestIndex;
+        this.jobCatalog = jobCatalog;
+        this.listeners = listeners;
     }
 
     public List<JobOfferDto> getAllJobOffers() {
-        return jobOfferRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return jobCatalog.getAll();
+    }
+
+    /**
+     * Suggests job titles, company names and skills completing what has been typed in the search box.
+     *
+     * @param prefix The text typed so far
+     * @param limit Maximum number of suggestions
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        return jobSuggestIndex.suggest(prefix, limit);
     }
 
     public JobOfferDto getJobOfferById(Long id) {
-        JobOffer jobOffer = jobOfferRepository.findById(id)
+        return jobCatalog.get(id)
                 .orElseThrow(() -> new RuntimeException("Job offer not found"));
-        return mapToDto(jobOffer);
     }
 
-    public List<JobOfferDto> getJobOffersByRecruiterId(Long recruiterId) {
-        return jobOfferRepository.findByRecruiterId(recruiterId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public List<JobOfferDto> getJobOffersByIds(List<Long> ids) {
+        return getJobOffersByIds(ids, true);
+    }
+
+    /**
+     * Returns job offers in the order of the given ids, skipping the ones deleted in the meantime.
+     *
+     * @param includeDescription Whether to read the descriptions, which list views may not need
+     */
+    public List<JobOfferDto> getJobOffersByIds(List<Long> ids, boolean includeDescription) {
+        return jobCatalog.getByIds(ids, includeDescription);
+    }
+
+    /**
+     * Returns the next chunk of the catalog in id order, for callers walking the whole catalog
+     * without loading it at once.
+     *
+     * @param afterId Id of the last job offer of the previous chunk, 0 for the first chunk
+     * @param size Maximum number of job offers in the chunk
+     */
+    public List<JobOfferDto> getJobOffersAfterId(Long afterId, int size) {
+        return jobCatalog.getAfterId(afterId, size);
     }
-    
-    public List<JobOfferDto> getJobOffersByRecruiterId(Long recruiterId, Optional<Integer> limit) {
-        List<JobOfferDto> jobOffers = jobOfferRepository.findByRecruiterId(recruiterId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
-        
-        return limit.map(lim -> jobOffers.stream()
-                .limit(lim)
-                .collect(Collectors.toList()))
-                .orElse(jobOffers);
+
+    /**
+     * Returns a page of the catalog, newest first.
+     *
+     * @param cursor Cursor of the page, null for the first page
+     * @param limit Maximum number of job offers in the page
+     * @param includeDescription Whether to read the descriptions, which list views may not need
+     */
+    public JobOfferPage getJobOffersPage(PageCursor cursor, int limit, boolean includeDescription) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<JobOfferDto> jobOffers = cursor == null
+                ? jobOfferRepository.findNewestDtos(includeDescription, page)
+                : jobOfferRepository.findNewestDtosBefore(cursor.getCreatedAt(), cursor.getId(), includeDescription, page);
+        return toPage(jobOffers, limit);
+    }
+
+    /**
+     * Returns a page of a recruiter's job offers, newest first.
+     *
+     * @param recruiterId The recruiter's user id
+     * @param cursor Cursor of the page, null for the first page
+     * @param limit Maximum number of job offers in the page
+     * @param includeDescription Whether to read the descriptions, which list views may not need
+     */
+    public JobOfferPage getJobOffersPageByRecruiterId(Long recruiterId, PageCursor cursor, int limit,
+                                                      boolean includeDescription) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<JobOfferDto> jobOffers = cursor == null
+                ? jobOfferRepository.findNewestDtosByRecruiterId(recruiterId, includeDescription, page)
+                : jobOfferRepository.findNewestDtosByRecruiterIdBefore(recruiterId, cursor.getCreatedAt(),
+                        cursor.getId(), includeDescription, page);
+        return toPage(jobOffers, limit);
     }
 
-    public List<JobOfferDto> searchJobOffers(String keyword) {
-        return jobOfferRepository.searchByKeyword(keyword).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    /**
+     * Searches the job offers by relevance to a free-text query, from the in-memory search index.
+     * Filters and facet counts are evaluated over the index's bitmaps, without querying the database.
+     *
+     * @param keyword The query, job offers matching any of its words are returned; may be blank to
+     *                list the job offers passing the filter by ascending id
+     * @param filter Criteria every result must meet, or null
+     * @param cursor Cursor of the page, null for the first page
+     * @param limit Maximum number of job offers in the page
+     * @param includeDescription Whether to read the descriptions, which list views may not need
+     */
+    public JobSearchResultDto searchJobOffers(String keyword, JobSearchFilter filter, PageCursor cursor, int limit,
+                                              boolean includeDescription) {
+        // One extra result tells whether there is a next page
+        JobSearchIndex.SearchResult result = cursor == null
+                ? jobSearchIndex.searchAfter(keyword, filter, Double.POSITIVE_INFINITY, Long.MAX_VALUE, limit + 1, true)
+                : jobSearchIndex.searchAfter(keyword, filter, cursor.getScore(), cursor.getId(), limit + 1, true);
+        List<TopK.Scored<Long>> results = result.getHits();
+        boolean hasMore = results.size() > limit;
+        List<TopK.Scored<Long>> page = hasMore ? results.subList(0, limit) : results;
+
+        List<JobOfferDto> jobOffers = getJobOffersByIds(page.stream()
+                .map(TopK.Scored::getItem)
+                .collect(Collectors.toList()), includeDescription);
+        String nextCursor = null;
+        if (hasMore) {
+            TopK.Scored<Long> last = page.get(page.size() - 1);
+            nextCursor = PageCursor.ofScore(last.getScore(), last.getItem()).encode();
+        }
+        return new JobSearchResultDto(jobOffers, nextCursor, result.getTotalHits(), result.getFacets());
     }
 
     @Transactional
@@ -79,7 +169,9 @@ public class JobOfferService {
         jobOffer.setSkills(jobOfferDto.getSkills());
 
         JobOffer savedJobOffer = jobOfferRepository.save(jobOffer);
-        return mapToDto(savedJobOffer);
+        JobOfferDto saved = mapToDto(savedJobOffer);
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onJobOfferSaved(saved)));
+        return saved;
     }
 
     @Transactional
@@ -100,7 +192,9 @@ public class JobOfferService {
         jobOffer.setSkills(jobOfferDto.getSkills());
 
         JobOffer updatedJobOffer = jobOfferRepository.save(jobOffer);
-        return mapToDto(updatedJobOffer);
+        JobOfferDto updated = mapToDto(updatedJobOffer);
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onJobOfferSaved(updated)));
+        return updated;
     }
 
     @Transactional
@@ -114,6 +208,19 @@ public class JobOfferService {
         }
 
         jobOfferRepository.delete(jobOffer);
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onJobOfferDeleted(jobOfferId)));
+    }
+
+    // The repository returned one job offer more than the page holds if there is a next page
+    private JobOfferPage toPage(List<JobOfferDto> jobOffers, int limit) {
+        boolean hasMore = jobOffers.size() > limit;
+        List<JobOfferDto> page = hasMore ? jobOffers.subList(0, limit) : jobOffers;
+        String nextCursor = null;
+        if (hasMore) {
+            JobOfferDto last = page.get(page.size() - 1);
+            nextCursor = PageCursor.ofCreatedAt(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new JobOfferPage(page, nextCursor);
     }
 
     private JobOfferDto mapToDto(JobOffer jobOffer) {
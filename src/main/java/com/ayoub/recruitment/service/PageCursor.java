@@ -0,0 +1,66 @@
+package com.ayoub.recruitment.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort key and id of the last item of a page. Listings sort by
+ * creation time, search results by score; either way the id breaks ties, so the next page starts
+ * right after the cursor without counting the rows before it.
+ */
+public final class PageCursor {
+
+    private final long key;
+    private final long id;
+
+    private PageCursor(long key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static PageCursor ofCreatedAt(LocalDateTime createdAt, long id) {
+        long nanos = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + createdAt.getNano();
+        return new PageCursor(nanos, id);
+    }
+
+    public static PageCursor ofScore(double score, long id) {
+        // The exact bits, so the next page resumes on the very same score
+        return new PageCursor(Double.doubleToLongBits(score), id);
+    }
+
+    /**
+     * Parses a cursor returned with a previous page.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new PageCursor(Long.parseLong(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, 1_000_000_000L),
+                (int) Math.floorMod(key, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    public double getScore() {
+        return Double.longBitsToDouble(key);
+    }
+
+    public long getId() {
+        return id;
+    }
+}
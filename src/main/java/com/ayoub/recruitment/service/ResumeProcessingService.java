@@ -0,0 +1,133 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.ResumeAnalysisService;
+import com.ayoub.recruitment.dto.ResumeProcessingJobDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Processes uploaded resumes in the background: extracts their text and skills, then adds the
+ * skills to the student's profile. Jobs run on a bounded pool with a bounded queue, so upload
+ * requests never parse files themselves and a burst of uploads cannot exhaust memory.
+ */
+@Service
+public class ResumeProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeProcessingService.class);
+
+    private final ResumeAnalysisService resumeAnalysisService;
+    private final StudentProfileService studentProfileService;
+    private final ThreadPoolExecutor executor;
+    private final long retentionMinutes;
+
+    // Job snapshots are replaced, never mutated, so readers always see a consistent job
+    private final Map<String, ResumeProcessingJobDto> jobs = new ConcurrentHashMap<>();
+
+    public ResumeProcessingService(ResumeAnalysisService resumeAnalysisService,
+                                   StudentProfileService studentProfileService,
+                                   @Value("${resume.processing.threads:2}") int threads,
+                                   @Value("${resume.processing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${resume.processing.retention-minutes:60}") long retentionMinutes) {
+        this.resumeAnalysisService = resumeAnalysisService;
+        this.studentProfileService = studentProfileService;
+        this.retentionMinutes = retentionMinutes;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "resume-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues the processing of an uploaded resume.
+     *
+     * @param userId The student's user id
+     * @param filename Name of the stored resume
+     * @return The queued job, or empty if the queue is full
+     */
+    public Optional<ResumeProcessingJobDto> submit(Long userId, String filename) {
+        evictFinishedJobs();
+
+        String jobId = UUID.randomUUID().toString();
+        ResumeProcessingJobDto job = new ResumeProcessingJobDto(jobId, userId, filename,
+                ResumeProcessingJobDto.Status.QUEUED, null, null, LocalDateTime.now(), null);
+        jobs.put(jobId, job);
+        try {
+            executor.execute(() -> process(jobId));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * Whether skills can be extracted from a resume in this format; other resumes are only stored.
+     */
+    public boolean supports(String filename) {
+        return resumeAnalysisService.isSupported(filename);
+    }
+
+    public Optional<ResumeProcessingJobDto> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(String jobId) {
+        ResumeProcessingJobDto job = update(jobId, running -> running.setStatus(ResumeProcessingJobDto.Status.RUNNING));
+        if (job == null) {
+            return;
+        }
+
+        try {
+            List<String> skills = resumeAnalysisService.analyze(job.getFilename());
+            studentProfileService.addExtractedSkills(job.getUserId(), skills);
+            update(jobId, completed -> {
+                completed.setStatus(ResumeProcessingJobDto.Status.COMPLETED);
+                completed.setExtractedSkills(skills);
+                completed.setCompletedAt(LocalDateTime.now());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Resume processing job {} failed for {}", jobId, job.getFilename(), e);
+            update(jobId, failed -> {
+                failed.setStatus(ResumeProcessingJobDto.Status.FAILED);
+                failed.setError(e.getMessage());
+                failed.setCompletedAt(LocalDateTime.now());
+            });
+        }
+    }
+
+    private ResumeProcessingJobDto update(String jobId, Consumer<ResumeProcessingJobDto> change) {
+        return jobs.computeIfPresent(jobId, (id, current) -> {
+            ResumeProcessingJobDto next = new ResumeProcessingJobDto(current.getJobId(), current.getUserId(),
+                    current.getFilename(), current.getStatus(), current.getExtractedSkills(), current.getError(),
+                    current.getCreatedAt(), current.getCompletedAt());
+            change.accept(next);
+            return next;
+        });
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,17 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.model.StudentProfile;
+
+/**
+ * Callback for components that keep in-memory state derived from student profiles.
+ * StudentProfileService notifies every registered listener once a write has been committed.
+ */
+public interface StudentProfileListener {
+
+    /**
+     * Called after a student profile has been updated.
+     *
+     * @param studentProfile The saved student profile
+     */
+    void onStudentProfileSaved(StudentProfile studentProfile);
+}
@@ -1,5 +1,6 @@
 package com.ayoub.recruitment.service;
 
+import com.ayoub.recruitment.ai.SkillParser;
 import com.ayoub.recruitment.dto.StudentProfileDto;
 import com.ayoub.recruitment.model.StudentProfile;
 import com.ayoub.recruitment.model.User;
@@ -10,15 +11,22 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 @Service
 public class StudentProfileService {
 
     private final StudentProfileRepository studentProfileRepository;
     private final UserRepository userRepository;
+    private final List<StudentProfileListener> listeners;
 
-    public StudentProfileService(StudentProfileRepository studentProfileRepository, UserRepository userRepository) {
+    public StudentProfileService(StudentProfileRepository studentProfileRepository, UserRepository userRepository,
+                                 List<StudentProfileListener> listeners) {
         this.studentProfileRepository = studentProfileRepository;
         this.userRepository = userRepository;
+        this.listeners = listeners;
     }
 
     public StudentProfileDto getStudentProfileByUserId(Long userId) {
@@ -57,6 +65,40 @@ public class StudentProfileService {
         }
         
         StudentProfile updatedProfile = studentProfileRepository.save(studentProfile);
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onStudentProfileSaved(updatedProfile)));
+        return mapToDto(updatedProfile);
+    }
+    
+    /**
+     * Adds skills extracted from a resume to a student profile, keeping the skills the student
+     * entered. Listeners are only notified if a new skill was added.
+     *
+     * @param userId The student's user id
+     * @param extractedSkills Normalized skill names
+     * @return The updated profile
+     */
+    @Transactional
+    public StudentProfileDto addExtractedSkills(Long userId, List<String> extractedSkills) {
+        StudentProfile studentProfile = studentProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Student profile not found"));
+        
+        // parseSkills may return an immutable empty set
+        Set<String> knownSkills = new LinkedHashSet<>(SkillParser.parseSkills(studentProfile.getSkills()));
+        StringBuilder skills = new StringBuilder(studentProfile.getSkills() != null ? studentProfile.getSkills().trim() : "");
+        boolean changed = false;
+        for (String skill : extractedSkills) {
+            if (knownSkills.add(skill)) {
+                skills.append(skills.length() > 0 ? ", " : "").append(skill);
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return mapToDto(studentProfile);
+        }
+        
+        studentProfile.setSkills(skills.toString());
+        StudentProfile updatedProfile = studentProfileRepository.save(studentProfile);
+        TransactionCallbacks.afterCommit(() -> listeners.forEach(listener -> listener.onStudentProfileSaved(updatedProfile)));
         return mapToDto(updatedProfile);
     }
     
@@ -1,6 +1,7 @@
 -- This script will be automatically executed when the application starts if spring.jpa.hibernate.ddl-auto is set to create or create-drop
 
 -- Clear existing data
+DELETE FROM student_recommendations;
 DELETE FROM applications;
 DELETE FROM job_offers;
 DELETE FROM student_profiles;
@@ -1,18 +1,23 @@
 package com.ayoub.recruitment.repository;
 
+import com.ayoub.recruitment.dto.JobOfferDto;
 import com.ayoub.recruitment.model.JobOffer;
 import com.ayoub.recruitment.model.User;
 import com.ayoub.recruitment.model.UserRole;
+import com.ayoub.recruitment.service.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -134,6 +139,111 @@ public class JobOfferRepositoryTest {
         assertThat(nonExistentJobs).isEmpty();
     }
 
+    @Test
+    public void whenFindDtos_thenDescriptionOnlySelectedWhenRequested() {
+        // given
+        JobOffer job1 = createJobOffer("Software Engineer", "Java developer position",
+                "Tech Company", recruiter1, "Java, Spring, SQL");
+        JobOffer job2 = createJobOffer("Data Scientist", "ML engineer position",
+                "Data Corp", recruiter2, "Python, TensorFlow, SQL");
+
+        entityManager.persist(job1);
+        entityManager.persist(job2);
+        entityManager.flush();
+
+        // when
+        List<JobOfferDto> withDescription = jobOfferRepository.findAllDtos(true).stream()
+                .filter(dto -> dto.getId().equals(job1.getId()))
+                .toList();
+        List<JobOfferDto> withoutDescription = jobOfferRepository.findAllDtos(false).stream()
+                .filter(dto -> dto.getId().equals(job1.getId()) || dto.getId().equals(job2.getId()))
+                .toList();
+
+        // then
+        assertThat(withDescription).hasSize(1);
+        assertThat(withDescription.get(0).getDescription()).isEqualTo("Java developer position");
+        assertThat(withDescription.get(0).getRecruiterEmail()).isEqualTo("recruiter1@example.com");
+
+        assertThat(withoutDescription).extracting(JobOfferDto::getTitle).containsExactlyInAnyOrder(
+                "Software Engineer", "Data Scientist");
+        assertThat(withoutDescription).extracting(JobOfferDto::getDescription).containsOnlyNulls();
+        assertThat(withoutDescription).extracting(JobOfferDto::getRecruiterId).containsExactlyInAnyOrder(
+                recruiter1.getId(), recruiter2.getId());
+    }
+
+    @Test
+    public void whenPagingNewestFirst_thenCursorsResumeAfterTheLastRow() {
+        // given
+        LocalDateTime older = LocalDateTime.of(2024, 1, 1, 9, 0);
+        LocalDateTime tied = LocalDateTime.of(2024, 1, 2, 9, 30, 15, 123_456_000);
+        LocalDateTime newest = LocalDateTime.of(2024, 1, 3, 9, 0);
+        JobOffer job1 = createJobOffer("Software Engineer", "Java developer position",
+                "Tech Company", recruiter1, "Java, Spring, SQL");
+        JobOffer job2 = createJobOffer("Frontend Developer", "React developer position",
+                "Tech Company", recruiter1, "React, JavaScript, CSS");
+        JobOffer job3 = createJobOffer("Backend Developer", "Spring developer position",
+                "Tech Company", recruiter1, "Java, Spring");
+        JobOffer job4 = createJobOffer("Data Scientist", "ML engineer position",
+                "Data Corp", recruiter2, "Python, TensorFlow, SQL");
+
+        entityManager.persist(job1);
+        entityManager.persist(job2);
+        entityManager.persist(job3);
+        entityManager.persist(job4);
+        entityManager.flush();
+        // Creation times are set on persist, so they are overwritten afterwards; job2 and job3 tie
+        job1.setCreatedAt(older);
+        job2.setCreatedAt(tied);
+        job3.setCreatedAt(tied);
+        job4.setCreatedAt(newest);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<JobOfferDto> firstPage = jobOfferRepository.findNewestDtos(false, PageRequest.of(0, 2));
+        PageCursor cursor = PageCursor.decode(cursorAfter(firstPage));
+        List<JobOfferDto> secondPage = jobOfferRepository.findNewestDtosBefore(
+                cursor.getCreatedAt(), cursor.getId(), false, PageRequest.of(0, 2));
+
+        List<JobOfferDto> recruiterFirstPage = jobOfferRepository.findNewestDtosByRecruiterId(
+                recruiter1.getId(), true, PageRequest.of(0, 2));
+        PageCursor recruiterCursor = PageCursor.decode(cursorAfter(recruiterFirstPage));
+        List<JobOfferDto> recruiterSecondPage = jobOfferRepository.findNewestDtosByRecruiterIdBefore(
+                recruiter1.getId(), recruiterCursor.getCreatedAt(), recruiterCursor.getId(), true, PageRequest.of(0, 2));
+
+        // then
+        assertThat(cursor.getCreatedAt()).isEqualTo(tied);
+        assertThat(firstPage).extracting(JobOfferDto::getId).containsExactly(job4.getId(), job3.getId());
+        assertThat(secondPage).extracting(JobOfferDto::getId).containsExactly(job2.getId(), job1.getId());
+        assertThat(secondPage).extracting(JobOfferDto::getDescription).containsOnlyNulls();
+
+        assertThat(recruiterFirstPage).extracting(JobOfferDto::getId).containsExactly(job3.getId(), job2.getId());
+        assertThat(recruiterSecondPage).extracting(JobOfferDto::getId).containsExactly(job1.getId());
+        assertThat(recruiterSecondPage.get(0).getDescription()).isEqualTo("Java developer position");
+    }
+
+    @Test
+    public void whenCursorEncoded_thenItDecodesToTheSameKey() {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 9, 30, 15, 123_456_789);
+
+        // when
+        PageCursor byCreatedAt = PageCursor.decode(PageCursor.ofCreatedAt(createdAt, 42L).encode());
+        PageCursor byScore = PageCursor.decode(PageCursor.ofScore(0.1 + 0.2, 7L).encode());
+
+        // then
+        assertThat(byCreatedAt.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(byCreatedAt.getId()).isEqualTo(42L);
+        assertThat(byScore.getScore()).isEqualTo(0.1 + 0.2);
+        assertThat(byScore.getId()).isEqualTo(7L);
+        assertThatThrownBy(() -> PageCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String cursorAfter(List<JobOfferDto> page) {
+        JobOfferDto last = page.get(page.size() - 1);
+        return PageCursor.ofCreatedAt(last.getCreatedAt(), last.getId()).encode();
+    }
+
     private JobOffer createJobOffer(String title, String description, String companyName, 
                                     User recruiter, String skills) {
         JobOffer jobOffer = new JobOffer();
@@ -0,0 +1,91 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.CandidateRecommendationService;
+import com.ayoub.recruitment.ai.SkillDictionary;
+import com.ayoub.recruitment.ai.StudentSkillIndex;
+import com.ayoub.recruitment.dto.CandidateDto;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.User;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CandidateRecommendationServiceTest {
+
+    @Mock
+    private StudentProfileRepository studentProfileRepository;
+
+    private StudentSkillIndex studentSkillIndex;
+    private CandidateRecommendationService candidateRecommendationService;
+    private List<StudentProfile> profiles;
+
+    @BeforeEach
+    void setUp() {
+        SkillDictionary skillDictionary = new SkillDictionary();
+        studentSkillIndex = new StudentSkillIndex(studentProfileRepository, skillDictionary);
+        candidateRecommendationService = new CandidateRecommendationService(
+                studentProfileRepository, studentSkillIndex);
+
+        profiles = Arrays.asList(
+                profile(1L, 10L, "Java, Spring, SQL"),
+                profile(2L, 20L, "React, JavaScript"),
+                profile(3L, 30L, "Java, SQL"));
+        when(studentProfileRepository.findAll()).thenReturn(profiles);
+    }
+
+    @Test
+    void whenFindTopCandidates_thenRankMatchingStudentsByScore() {
+        // Arrange
+        when(studentProfileRepository.findAllById(any())).thenReturn(profiles);
+        JobOfferDto jobOffer = new JobOfferDto();
+        jobOffer.setSkills("Java, SQL");
+
+        // Act
+        List<CandidateDto> candidates = candidateRecommendationService.findTopCandidates(jobOffer, 5);
+
+        // Assert: the React student shares no skill and is never scored
+        assertThat(candidates).extracting(CandidateDto::getStudentId).containsExactly(30L, 10L);
+        assertThat(candidates.get(0).getMatchScore()).isEqualTo(1.0);
+    }
+
+    @Test
+    void whenStudentProfileIsUpdated_thenIndexFollows() {
+        // Arrange
+        when(studentProfileRepository.findAllById(any())).thenReturn(profiles);
+        JobOfferDto jobOffer = new JobOfferDto();
+        jobOffer.setSkills("React, JavaScript");
+        assertThat(candidateRecommendationService.findTopCandidates(jobOffer, 5))
+                .extracting(CandidateDto::getStudentId).containsExactly(20L);
+
+        // Act
+        StudentProfile updated = profiles.get(0);
+        updated.setSkills("React, Spring");
+        studentSkillIndex.onStudentProfileSaved(updated);
+
+        // Assert
+        assertThat(candidateRecommendationService.findTopCandidates(jobOffer, 5))
+                .extracting(CandidateDto::getStudentId).containsExactly(20L, 10L);
+    }
+
+    private StudentProfile profile(Long id, Long userId, String skills) {
+        User user = new User();
+        user.setId(userId);
+        StudentProfile profile = new StudentProfile();
+        profile.setId(id);
+        profile.setUser(user);
+        profile.setSkills(skills);
+        return profile;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JobCatalogTest {
+
+    @Mock
+    private JobOfferRepository jobOfferRepository;
+
+    private JobCatalog jobCatalog;
+
+    @BeforeEach
+    void setUp() {
+        jobCatalog = new JobCatalog(jobOfferRepository);
+        // Out of id order, as the database may return them
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(LongStream.of(5, 1, 3, 9, 7)
+                .mapToObj(id -> new JobOfferDto(id, 100L, "recruiter@example.com", "Job " + id,
+                        "Description " + id, "Acme", id % 2 == 0 ? null : 1000.0 * id, null, "Java", null))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void whenReading_thenServedFromOneSnapshotLoad() {
+        // Act
+        List<JobOfferDto> all = jobCatalog.getAll();
+        JobOfferDto jobOffer = jobCatalog.get(7L).orElseThrow();
+        List<JobOfferDto> byIds = jobCatalog.getByIds(List.of(9L, 4L, 1L), false);
+        List<JobOfferDto> chunk = jobCatalog.getAfterId(3L, 2);
+
+        // Assert
+        assertThat(ids(all)).containsExactly(1L, 3L, 5L, 7L, 9L);
+        assertThat(jobOffer.getTitle()).isEqualTo("Job 7");
+        assertThat(jobOffer.getSalaryMin()).isEqualTo(7000.0);
+        assertThat(jobOffer.getSalaryMax()).isNull();
+        assertThat(jobCatalog.get(4L)).isEmpty();
+        assertThat(ids(byIds)).containsExactly(9L, 1L);
+        assertThat(byIds).extracting(JobOfferDto::getDescription).containsOnlyNulls();
+        assertThat(ids(chunk)).containsExactly(5L, 7L);
+        assertThat(jobCatalog.getAfterId(9L, 2)).isEmpty();
+        verify(jobOfferRepository, times(1)).findAllDtos(true);
+    }
+
+    @Test
+    void whenJobOffersWritten_thenSnapshotPatched() {
+        // Arrange
+        List<JobOfferDto> before = jobCatalog.getAll();
+
+        // Act
+        jobCatalog.onJobOfferSaved(jobOffer(4L, "New job"));
+        jobCatalog.onJobOfferSaved(jobOffer(9L, "Renamed job"));
+        jobCatalog.onJobOfferDeleted(1L);
+
+        // Assert
+        assertThat(ids(jobCatalog.getAll())).containsExactly(3L, 4L, 5L, 7L, 9L);
+        assertThat(jobCatalog.get(4L).orElseThrow().getRecruiterEmail()).isEqualTo("other@example.com");
+        assertThat(jobCatalog.get(9L).orElseThrow().getTitle()).isEqualTo("Renamed job");
+        assertThat(jobCatalog.get(1L)).isEmpty();
+        // Earlier reads are unaffected
+        assertThat(ids(before)).containsExactly(1L, 3L, 5L, 7L, 9L);
+    }
+
+    @Test
+    void whenWrittenBeforeFirstRead_thenLoadedFromDatabase() {
+        // Act
+        jobCatalog.onJobOfferDeleted(1L);
+
+        // Assert
+        assertThat(ids(jobCatalog.getAll())).containsExactly(1L, 3L, 5L, 7L, 9L);
+    }
+
+    private List<Long> ids(List<JobOfferDto> jobOffers) {
+        return jobOffers.stream().map(JobOfferDto::getId).collect(Collectors.toList());
+    }
+
+    private JobOfferDto jobOffer(Long id, String title) {
+        return new JobOfferDto(id, 200L, "other@example.com", title, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,197 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.JobSearchIndex;
+import com.ayoub.recruitment.ai.TopK;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.JobSearchFilter;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JobSearchIndexTest {
+
+    @Mock
+    private JobOfferRepository jobOfferRepository;
+
+    private JobSearchIndex jobSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        jobSearchIndex = new JobSearchIndex(new JobCatalog(jobOfferRepository));
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(List.of(
+                jobOffer(1L, "Frontend Developer", "Build pages, some Java on the backend", "Acme", "HTML, CSS"),
+                jobOffer(2L, "Java Developer", "Build services", "Globex", "Java, Spring"),
+                jobOffer(3L, "Data Engineer", "Pipelines with Spark", "Initech", "Python, SQL")));
+    }
+
+    @Test
+    void whenSearching_thenTitleAndSkillMatchesRankAboveDescriptionMatches() {
+        // Act
+        List<Long> results = ids(jobSearchIndex.search("the java developer", 10));
+
+        // Assert
+        assertThat(results).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void whenSearchingCompanyOrUnknownTerm_thenOnlyMatchingOffersReturned() {
+        // Act & Assert
+        assertThat(ids(jobSearchIndex.search("initech", 10))).containsExactly(3L);
+        assertThat(ids(jobSearchIndex.search("cobol", 10))).isEmpty();
+        assertThat(ids(jobSearchIndex.search("and the", 10))).isEmpty();
+    }
+
+    @Test
+    void whenJobOffersWritten_thenIndexUpdatedIncrementally() {
+        // Arrange
+        jobSearchIndex.search("java", 10);
+
+        // Act
+        jobSearchIndex.onJobOfferSaved(jobOffer(2L, "Go Developer", "Build services", "Globex", "Go"));
+        jobSearchIndex.onJobOfferSaved(jobOffer(4L, "Senior Java Engineer", "Lead the team", "Hooli", "Java"));
+        jobSearchIndex.onJobOfferDeleted(1L);
+
+        // Assert
+        assertThat(ids(jobSearchIndex.search("java", 10))).containsExactly(4L);
+        assertThat(ids(jobSearchIndex.search("go", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void whenJobOfferSavedDuringInitialLoad_thenItIsIndexedOnceLoaded() throws InterruptedException {
+        // Arrange
+        Thread writer = new Thread(() -> jobSearchIndex.onJobOfferSaved(
+                jobOffer(4L, "Senior Java Engineer", "Lead the team", "Hooli", "Java")));
+        // The write commits while the catalog is being read, which does not see it yet
+        when(jobOfferRepository.findAllDtos(true)).thenAnswer(invocation -> {
+            writer.start();
+            while (writer.getState() != Thread.State.WAITING && writer.isAlive()) {
+                Thread.onSpinWait();
+            }
+            return List.of(jobOffer(2L, "Java Developer", "Build services", "Globex", "Java, Spring"));
+        });
+
+        // Act
+        jobSearchIndex.search("java", 10);
+        writer.join(5000);
+
+        // Assert
+        assertThat(ids(jobSearchIndex.search("java", 10))).containsExactlyInAnyOrder(2L, 4L);
+    }
+
+    @Test
+    void whenSearchingWithQuerySyntax_thenBooleanPhraseAndFieldClausesApplied() {
+        // Act & Assert
+        assertThat(ids(jobSearchIndex.search("skills:java", 10))).containsExactly(2L);
+        assertThat(ids(jobSearchIndex.search("java AND developer", 10))).containsExactly(2L, 1L);
+        assertThat(ids(jobSearchIndex.search("\"java developer\"", 10))).containsExactly(2L);
+        assertThat(ids(jobSearchIndex.search("description:\"java backend\"", 10))).containsExactly(1L);
+        assertThat(ids(jobSearchIndex.search("developer NOT skills:java", 10))).containsExactly(1L);
+        assertThat(ids(jobSearchIndex.search("(spark OR sql) company:initech", 10))).containsExactly(3L);
+        assertThat(ids(jobSearchIndex.search("title:java OR company:acme", 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(jobSearchIndex.search("NOT developer", 10))).containsExactly(3L);
+        assertThat(ids(jobSearchIndex.search("java AND cobol", 10))).isEmpty();
+    }
+
+    @Test
+    void whenPagingWithCursor_thenEveryResultReturnedOnceInRankOrder() {
+        // Arrange
+        List<Long> allResults = ids(jobSearchIndex.search("java developer build", 10));
+
+        // Act
+        List<Long> pagedResults = new ArrayList<>();
+        List<TopK.Scored<Long>> page = jobSearchIndex.search("java developer build", 1);
+        while (!page.isEmpty()) {
+            pagedResults.addAll(ids(page));
+            TopK.Scored<Long> last = page.get(page.size() - 1);
+            PageCursor cursor = PageCursor.decode(PageCursor.ofScore(last.getScore(), last.getItem()).encode());
+            page = jobSearchIndex.searchAfter("java developer build", cursor.getScore(), cursor.getId(), 1);
+        }
+
+        // Assert
+        assertThat(allResults).hasSize(2);
+        assertThat(pagedResults).isEqualTo(allResults);
+    }
+
+    @Test
+    void whenSearchingWithFilter_thenResultsAndFacetsRestrictedToMatchingOffers() {
+        // Arrange
+        jobSearchIndex.search("java", 10);
+        JobOfferDto senior = jobOffer(4L, "Senior Java Engineer", "Lead the team", "Globex", "Java, Kafka");
+        senior.setSalaryMin(60000.0);
+        senior.setSalaryMax(80000.0);
+        JobOfferDto junior = jobOffer(5L, "Junior Java Developer", "Learn the stack", "acme", "Java");
+        junior.setSalaryMin(30000.0);
+        junior.setSalaryMax(38000.0);
+        jobSearchIndex.onJobOfferSaved(senior);
+        jobSearchIndex.onJobOfferSaved(junior);
+
+        JobSearchFilter anySkillAndSalary = new JobSearchFilter();
+        anySkillAndSalary.setSkills(List.of("Python", "Kafka"));
+        anySkillAndSalary.setSkillMatch("any");
+        anySkillAndSalary.setMinSalary(40000.0);
+        JobSearchFilter allSkills = new JobSearchFilter();
+        allSkills.setSkills(List.of("java", "spring"));
+        JobSearchFilter company = new JobSearchFilter();
+        company.setCompanies(List.of("ACME"));
+
+        // Act
+        JobSearchIndex.SearchResult filtered = search("", anySkillAndSalary);
+        JobSearchIndex.SearchResult java = search("java", null);
+
+        // Assert
+        assertThat(ids(filtered.getHits())).containsExactly(4L);
+        assertThat(filtered.getTotalHits()).isEqualTo(1);
+        assertThat(ids(search("", allSkills).getHits())).containsExactly(2L);
+        assertThat(ids(search("java", company).getHits())).containsExactlyInAnyOrder(1L, 5L);
+        assertThat(search("", null).getHits()).isEmpty();
+
+        assertThat(java.getTotalHits()).isEqualTo(4);
+        assertThat(java.getFacets().get("company")).containsExactly(entry("Acme", 2L), entry("Globex", 2L));
+        assertThat(java.getFacets().get("skills")).containsEntry("java", 3L).containsEntry("css", 1L);
+        assertThat(java.getFacets().get("salary")).containsExactly(entry("30000-40000", 1L), entry("60000-70000", 1L));
+    }
+
+    @Test
+    void whenLastOfferOfCompanyDeleted_thenItsDisplayNameIsDropped() {
+        // Arrange
+        jobSearchIndex.search("java", 10);
+
+        // Act: Acme has no offer left, then comes back spelled differently
+        jobSearchIndex.onJobOfferDeleted(1L);
+        jobSearchIndex.onJobOfferSaved(jobOffer(4L, "Java Developer", "Build services", "ACME", "Java"));
+
+        // Assert
+        assertThat(search("java", null).getFacets().get("company"))
+                .containsOnly(entry("ACME", 1L), entry("Globex", 1L));
+    }
+
+    private JobSearchIndex.SearchResult search(String query, JobSearchFilter filter) {
+        return jobSearchIndex.searchAfter(query, filter, Double.POSITIVE_INFINITY, Long.MAX_VALUE, 10, true);
+    }
+
+    private List<Long> ids(List<TopK.Scored<Long>> results) {
+        return results.stream().map(TopK.Scored::getItem).collect(Collectors.toList());
+    }
+
+    private JobOfferDto jobOffer(Long id, String title, String description, String company, String skills) {
+        JobOfferDto jobOffer = new JobOfferDto();
+        jobOffer.setId(id);
+        jobOffer.setTitle(title);
+        jobOffer.setDescription(description);
+        jobOffer.setCompanyName(company);
+        jobOffer.setSkills(skills);
+        return jobOffer;
+    }
+}
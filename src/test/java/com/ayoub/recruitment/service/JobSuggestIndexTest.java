@@ -0,0 +1,82 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.JobSuggestIndex;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.SuggestionDto;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JobSuggestIndexTest {
+
+    @Mock
+    private JobOfferRepository jobOfferRepository;
+
+    private JobSuggestIndex jobSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        jobSuggestIndex = new JobSuggestIndex(new JobCatalog(jobOfferRepository));
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(List.of(
+                jobOffer(1L, "Java Developer", "Javelin Labs", "Java, Spring"),
+                jobOffer(2L, "Java Developer", "Acme", "Java, JavaScript"),
+                jobOffer(3L, "JavaScript Engineer", "Acme", "JavaScript, React")));
+    }
+
+    @Test
+    void whenSuggesting_thenCompletionsReturnedMostUsedFirst() {
+        // Act
+        List<SuggestionDto> suggestions = jobSuggestIndex.suggest("  JAV", 10);
+
+        // Assert
+        assertThat(texts(suggestions)).containsExactly(
+                "java", "Java Developer", "javascript", "JavaScript Engineer", "Javelin Labs");
+        assertThat(suggestions.get(0).getWeight()).isEqualTo(2);
+        assertThat(suggestions.get(0).getType()).isEqualTo("skill");
+        assertThat(suggestions.get(4).getType()).isEqualTo("company");
+        assertThat(texts(jobSuggestIndex.suggest("java d", 10))).containsExactly("Java Developer");
+        assertThat(texts(jobSuggestIndex.suggest("jav", 2))).containsExactly("java", "Java Developer");
+        assertThat(jobSuggestIndex.suggest("python", 10)).isEmpty();
+        assertThat(jobSuggestIndex.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void whenJobOffersWritten_thenSuggestionsUpdatedIncrementally() {
+        // Arrange
+        jobSuggestIndex.suggest("j", 10);
+
+        // Act
+        jobSuggestIndex.onJobOfferSaved(jobOffer(1L, "Kotlin Developer", "Javelin Labs", "Kotlin"));
+        jobSuggestIndex.onJobOfferDeleted(3L);
+
+        // Assert
+        assertThat(texts(jobSuggestIndex.suggest("ja", 10)))
+                .containsExactly("java", "Java Developer", "javascript", "Javelin Labs");
+        assertThat(jobSuggestIndex.suggest("java d", 10).get(0).getWeight()).isEqualTo(1);
+        assertThat(texts(jobSuggestIndex.suggest("k", 10))).containsExactly("kotlin", "Kotlin Developer");
+        assertThat(jobSuggestIndex.suggest("react", 10)).isEmpty();
+    }
+
+    private List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getText).collect(Collectors.toList());
+    }
+
+    private JobOfferDto jobOffer(Long id, String title, String company, String skills) {
+        JobOfferDto jobOffer = new JobOfferDto();
+        jobOffer.setId(id);
+        jobOffer.setTitle(title);
+        jobOffer.setCompanyName(company);
+        jobOffer.setSkills(skills);
+        return jobOffer;
+    }
+}
@@ -0,0 +1,197 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.ModelSalaryPredictionService;
+import com.ayoub.recruitment.ai.SalaryModel;
+import com.ayoub.recruitment.ai.SalaryModelStore;
+import com.ayoub.recruitment.ai.SalaryPredictionService;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ModelSalaryPredictionServiceTest {
+
+    @Mock
+    private JobOfferRepository jobOfferRepository;
+
+    @Mock
+    private StudentProfileRepository studentProfileRepository;
+
+    @TempDir
+    Path modelDir;
+
+    private ModelSalaryPredictionService salaryPredictionService;
+    private List<JobOfferDto> allJobOffers;
+
+    @BeforeEach
+    void setUp() {
+        salaryPredictionService = newService();
+
+        allJobOffers = new ArrayList<>(List.of(
+                jobOffer(1L, "Java, Spring, SQL", 70000.0, 90000.0),
+                jobOffer(2L, "Java, Spring, Kubernetes", 90000.0, 120000.0),
+                jobOffer(3L, "HTML, CSS", 35000.0, 45000.0),
+                jobOffer(4L, "HTML, CSS, JavaScript", 40000.0, 55000.0)));
+    }
+
+    @Test
+    void whenModelTrainedOnCatalog_thenPredictionsFollowSkillSalaries() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+
+        // Act
+        SalaryPredictionService.SalaryPrediction backend = salaryPredictionService.predictSalary(profile("Java, Spring"));
+        SalaryPredictionService.SalaryPrediction frontend = salaryPredictionService.predictSalary(profile("HTML, CSS"));
+
+        // Assert
+        assertThat(backend.getMinSalary()).isGreaterThan(frontend.getMinSalary());
+        assertThat(backend.getMinSalary()).isBetween(60000.0, 100000.0);
+        assertThat(backend.getMaxSalary()).isGreaterThan(backend.getMinSalary());
+        assertThat(frontend.getMaxSalary()).isBetween(35000.0, 60000.0);
+        assertThat(backend.getConfidenceScore()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void whenApplicationReady_thenModelIsBootstrappedBeforeTheFirstPrediction() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+
+        // Act
+        salaryPredictionService.loadOnStartup();
+
+        // Assert
+        verify(jobOfferRepository, times(1)).findAllDtos(true);
+        assertThat(salaryPredictionService.getModelInfo()).containsEntry("version", 1L);
+        salaryPredictionService.predictSalary(profile("Java, Spring"));
+        verify(jobOfferRepository, times(1)).findAllDtos(true);
+    }
+
+    @Test
+    void whenJobOfferSaved_thenModelLearnsOnline() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+        StudentProfile rustDeveloper = profile("Rust");
+        double before = salaryPredictionService.predictSalary(rustDeveloper).getMinSalary();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            salaryPredictionService.onJobOfferSaved(jobOffer(100L + i, "Rust", 150000.0, 180000.0));
+        }
+
+        // Assert
+        SalaryPredictionService.SalaryPrediction after = salaryPredictionService.predictSalary(rustDeveloper);
+        assertThat(after.getMinSalary()).isGreaterThan(before + 50000.0);
+        assertThat(after.getConfidenceScore()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void whenSnapshotPublished_thenNewNodeLoadsItWithoutReadingDatabase() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+        StudentProfile backendDeveloper = profile("Java, Spring");
+        SalaryPredictionService.SalaryPrediction expected = salaryPredictionService.predictSalary(backendDeveloper);
+        JobOfferRepository otherRepository = mock(JobOfferRepository.class);
+
+        // Act
+        ModelSalaryPredictionService otherNode = new ModelSalaryPredictionService(new JobCatalog(otherRepository),
+                studentProfileRepository, new SalaryModelStore(modelDir.toString(), 3), 16, 0.05, 0.0001, 200);
+        SalaryPredictionService.SalaryPrediction actual = otherNode.predictSalary(backendDeveloper);
+
+        // Assert
+        verify(otherRepository, never()).findAllDtos(true);
+        assertThat(actual.getMinSalary()).isEqualTo(expected.getMinSalary());
+        assertThat(actual.getMaxSalary()).isEqualTo(expected.getMaxSalary());
+        assertThat(otherNode.getModelInfo()).containsEntry("version", 1L);
+    }
+
+    @Test
+    void whenNewerVersionPublished_thenServingModelIsSwapped() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+        StudentProfile rustDeveloper = profile("Rust");
+        ModelSalaryPredictionService otherNode = newService();
+        double before = otherNode.predictSalary(rustDeveloper).getMinSalary();
+        salaryPredictionService.predictSalary(rustDeveloper);
+        for (int i = 0; i < 50; i++) {
+            salaryPredictionService.onJobOfferSaved(jobOffer(100L + i, "Rust", 150000.0, 180000.0));
+        }
+
+        // Act
+        long published = salaryPredictionService.publishSnapshot();
+        long reloaded = otherNode.reloadIfNewer();
+
+        // Assert
+        assertThat(published).isEqualTo(2L);
+        assertThat(reloaded).isEqualTo(2L);
+        assertThat(otherNode.predictSalary(rustDeveloper).getMinSalary()).isGreaterThan(before + 50000.0);
+    }
+
+    @Test
+    void whenNodesPublishConcurrently_thenEveryPublishGetsItsOwnCompleteVersion() throws Exception {
+        // Arrange
+        List<SalaryModelStore> nodes = List.of(new SalaryModelStore(modelDir.toString(), 100),
+                new SalaryModelStore(modelDir.toString(), 100));
+        SalaryModel model = new SalaryModel(12, 0.05, 0.0001);
+        model.train(List.of("java"), 70000.0, 90000.0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<Long>> publishes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            SalaryModelStore node = nodes.get(i % 2);
+            publishes.add(executor.submit(() -> node.publish(model)));
+        }
+        List<Long> versions = new ArrayList<>();
+        for (Future<Long> publish : publishes) {
+            versions.add(publish.get());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(versions).doesNotHaveDuplicates().hasSize(20);
+        for (long version : versions) {
+            assertThat(nodes.get(0).load(version).getExamples()).isEqualTo(1L);
+        }
+    }
+
+    private ModelSalaryPredictionService newService() {
+        return new ModelSalaryPredictionService(new JobCatalog(jobOfferRepository), studentProfileRepository,
+                new SalaryModelStore(modelDir.toString(), 3), 16, 0.05, 0.0001, 200);
+    }
+
+    private StudentProfile profile(String skills) {
+        StudentProfile studentProfile = new StudentProfile();
+        studentProfile.setSkills(skills);
+        return studentProfile;
+    }
+
+    private JobOfferDto jobOffer(Long id, String skills, Double salaryMin, Double salaryMax) {
+        JobOfferDto jobOffer = new JobOfferDto();
+        jobOffer.setId(id);
+        jobOffer.setSkills(skills);
+        jobOffer.setSalaryMin(salaryMin);
+        jobOffer.setSalaryMax(salaryMax);
+        return jobOffer;
+    }
+}
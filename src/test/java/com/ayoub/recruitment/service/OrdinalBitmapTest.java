@@ -0,0 +1,89 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.OrdinalBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrdinalBitmapTest {
+
+    @Test
+    void whenBitmapGrowsAndShrinks_thenContentSurvivesFormChanges() {
+        // Arrange
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+
+        // Act
+        for (int ordinal = 0; ordinal < 1000; ordinal += 2) {
+            bitmap.add(ordinal);
+        }
+        for (int ordinal = 0; ordinal < 990; ordinal += 2) {
+            bitmap.remove(ordinal);
+        }
+
+        // Assert
+        assertThat(bitmap.cardinality()).isEqualTo(5);
+        assertThat(ordinals(bitmap)).containsExactly(990, 992, 994, 996, 998);
+        assertThat(bitmap.contains(992)).isTrue();
+        assertThat(bitmap.contains(2)).isFalse();
+    }
+
+    @Test
+    void whenBuiltFromSortedOrdinals_thenDenseRunsAndSparseSetsAreKept() {
+        // Arrange
+        int[] run = new int[200];
+        for (int i = 0; i < run.length; i++) {
+            run[i] = i;
+        }
+
+        // Act
+        OrdinalBitmap dense = OrdinalBitmap.ofSorted(run, run.length);
+        OrdinalBitmap sparse = OrdinalBitmap.ofSorted(new int[]{3, 70, 5000, 0}, 3);
+        OrdinalBitmap empty = OrdinalBitmap.ofSorted(new int[0], 0);
+        empty.add(7);
+
+        // Assert
+        assertThat(dense.cardinality()).isEqualTo(200);
+        assertThat(dense.contains(199)).isTrue();
+        assertThat(ordinals(sparse)).containsExactly(3, 70, 5000);
+        assertThat(ordinals(empty)).containsExactly(7);
+    }
+
+    @Test
+    void whenCombiningSparseAndDenseBitmaps_thenSetOperationsAreExact() {
+        // Arrange
+        OrdinalBitmap evens = new OrdinalBitmap();
+        OrdinalBitmap fewOdds = new OrdinalBitmap();
+        OrdinalBitmap multiplesOfThree = new OrdinalBitmap();
+        for (int ordinal = 0; ordinal < 300; ordinal++) {
+            if (ordinal % 2 == 0) {
+                evens.add(ordinal);
+            }
+            if (ordinal % 3 == 0) {
+                multiplesOfThree.add(ordinal);
+            }
+        }
+        fewOdds.add(3);
+        fewOdds.add(299);
+
+        // Act
+        OrdinalBitmap multiplesOfSix = OrdinalBitmap.and(evens, multiplesOfThree);
+        OrdinalBitmap union = OrdinalBitmap.or(List.of(fewOdds, evens));
+
+        // Assert
+        assertThat(multiplesOfSix.cardinality()).isEqualTo(50);
+        assertThat(OrdinalBitmap.andCardinality(evens, multiplesOfThree)).isEqualTo(50);
+        assertThat(OrdinalBitmap.and(fewOdds, multiplesOfThree).cardinality()).isEqualTo(1);
+        assertThat(OrdinalBitmap.andCardinality(fewOdds, evens)).isZero();
+        assertThat(union.cardinality()).isEqualTo(152);
+        assertThat(union.contains(299)).isTrue();
+    }
+
+    private List<Integer> ordinals(OrdinalBitmap bitmap) {
+        List<Integer> ordinals = new ArrayList<>();
+        bitmap.forEach(ordinals::add);
+        return ordinals;
+    }
+}
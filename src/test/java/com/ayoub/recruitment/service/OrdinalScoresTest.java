@@ -0,0 +1,34 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.OrdinalScores;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class OrdinalScoresTest {
+
+    @Test
+    void whenScoresAreAddedForFarApartOrdinals_thenEachOrdinalSumsItsOwnScores() {
+        // Arrange: the table is sized for the three ordinals, not for the largest one
+        OrdinalScores scores = new OrdinalScores(3);
+
+        // Act
+        scores.add(1_000_000, 0.5);
+        scores.add(7, 1.0);
+        scores.add(1_000_000, 0.25);
+        scores.add(0, 2.0);
+
+        // Assert
+        Map<Integer, Double> visited = new HashMap<>();
+        scores.forEach(visited::put);
+        assertThat(scores.size()).isEqualTo(3);
+        assertThat(scores.get(1_000_000)).isCloseTo(0.75, within(1e-12));
+        assertThat(scores.get(42)).isZero();
+        assertThat(visited).containsOnlyKeys(0, 7, 1_000_000);
+        assertThat(visited.get(0)).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.JobMatcher;
+import com.ayoub.recruitment.ai.RecommendationBatchService;
+import com.ayoub.recruitment.ai.TopK;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.StudentRecommendation;
+import com.ayoub.recruitment.model.User;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.repository.StudentRecommendationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RecommendationBatchServiceTest {
+
+    @Mock
+    private StudentProfileRepository studentProfileRepository;
+
+    @Mock
+    private StudentRecommendationRepository studentRecommendationRepository;
+
+    @Mock
+    private JobMatcher jobMatcher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecommendationBatchService recommendationBatchService;
+
+    @BeforeEach
+    void setUp() {
+        recommendationBatchService = new RecommendationBatchService(studentProfileRepository,
+                studentRecommendationRepository, jobMatcher, transactionManager);
+        ReflectionTestUtils.setField(recommendationBatchService, "topN", 3);
+        ReflectionTestUtils.setField(recommendationBatchService, "chunkSize", 3);
+        // A single worker keeps the mocks single-threaded; the ranges are split all the same
+        ReflectionTestUtils.setField(recommendationBatchService, "parallelism", 1);
+    }
+
+    @Test
+    void whenBatchRuns_thenIdRangeIsSplitIntoChunksScoringEveryStudentOnce() {
+        // Arrange: profile ids 1 to 10, with a gap at 7
+        List<StudentProfile> profiles = LongStream.rangeClosed(1, 10).filter(id -> id != 7)
+                .mapToObj(id -> profile(id, 100 + id, null))
+                .collect(Collectors.toList());
+        when(studentProfileRepository.findMinId()).thenReturn(1L);
+        when(studentProfileRepository.findMaxId()).thenReturn(10L);
+        when(studentProfileRepository.findByIdBetween(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long fromId = invocation.getArgument(0);
+            long toId = invocation.getArgument(1);
+            return profiles.stream()
+                    .filter(profile -> profile.getId() >= fromId && profile.getId() <= toId)
+                    .collect(Collectors.toList());
+        });
+        when(jobMatcher.findTopMatches(any(), anyInt())).thenReturn(Collections.emptyList());
+
+        // Act
+        int processed = recommendationBatchService.runBatch();
+
+        // Assert: halves are split until a range holds fewer ids than the chunk size
+        ArgumentCaptor<Long> fromIds = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Long> toIds = ArgumentCaptor.forClass(Long.class);
+        verify(studentProfileRepository, times(4)).findByIdBetween(fromIds.capture(), toIds.capture());
+        List<String> ranges = new ArrayList<>();
+        for (int i = 0; i < fromIds.getAllValues().size(); i++) {
+            ranges.add(fromIds.getAllValues().get(i) + "-" + toIds.getAllValues().get(i));
+        }
+        assertThat(ranges).containsExactlyInAnyOrder("1-3", "4-5", "6-8", "9-10");
+        assertThat(processed).isEqualTo(9);
+        verify(jobMatcher, times(9)).findTopMatches(any(), anyInt());
+    }
+
+    @Test
+    void whenChunkScored_thenItsRowsAreReplacedInOneTransaction() {
+        // Arrange
+        StudentProfile first = profile(1L, 101L, null);
+        StudentProfile second = profile(2L, 102L, null);
+        when(studentProfileRepository.findMinId()).thenReturn(1L);
+        when(studentProfileRepository.findMaxId()).thenReturn(2L);
+        when(studentProfileRepository.findByIdBetween(1L, 2L)).thenReturn(List.of(first, second));
+        when(jobMatcher.findTopMatches(first, 3)).thenReturn(List.of(
+                new TopK.Scored<>(7L, 7L, 0.9), new TopK.Scored<>(3L, 3L, 0.5)));
+        when(jobMatcher.findTopMatches(second, 3)).thenReturn(Collections.emptyList());
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        int processed = recommendationBatchService.runBatch();
+
+        // Assert: the previous rows of both students are deleted, even the one without matches
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StudentRecommendation>> saved = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(transactionManager, studentRecommendationRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(studentRecommendationRepository).deleteByStudentIdIn(List.of(101L, 102L));
+        order.verify(studentRecommendationRepository).saveAll(saved.capture());
+        order.verify(transactionManager).commit(any());
+        assertThat(processed).isEqualTo(2);
+        assertThat(saved.getValue()).extracting(StudentRecommendation::getStudentId).containsOnly(101L);
+        assertThat(saved.getValue()).extracting(StudentRecommendation::getJobOfferId).containsExactly(7L, 3L);
+        assertThat(saved.getValue()).extracting(StudentRecommendation::getPosition).containsExactly(0, 1);
+        assertThat(saved.getValue()).extracting(StudentRecommendation::getScore).containsExactly(0.9, 0.5);
+        assertThat(saved.getValue().get(0).getComputedAt())
+                .isEqualTo(saved.getValue().get(1).getComputedAt())
+                .isAfterOrEqualTo(before);
+    }
+
+    @Test
+    void whenNoStudentProfiles_thenNothingIsScoredOrWritten() {
+        // Arrange
+        when(studentProfileRepository.findMinId()).thenReturn(null);
+        when(studentProfileRepository.findMaxId()).thenReturn(null);
+
+        // Act
+        int processed = recommendationBatchService.runBatch();
+
+        // Assert
+        assertThat(processed).isZero();
+        verify(studentRecommendationRepository, never()).deleteByStudentIdIn(anyCollection());
+        verify(studentRecommendationRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    void whenProfileUpdatedAfterTheRun_thenPrecomputedRowsAreIgnored() {
+        // Arrange
+        LocalDateTime computedAt = LocalDateTime.of(2024, 5, 1, 3, 0);
+        when(studentRecommendationRepository.findByStudentIdOrderByPositionAsc(101L))
+                .thenReturn(rows(101L, computedAt, 10L, 20L));
+
+        // Act
+        Optional<List<Long>> edited = recommendationBatchService.findPrecomputedJobIds(
+                profile(1L, 101L, computedAt.plusMinutes(1)), 0, 2);
+        Optional<List<Long>> unchanged = recommendationBatchService.findPrecomputedJobIds(
+                profile(1L, 101L, computedAt.minusDays(1)), 0, 2);
+        Optional<List<Long>> neverEdited = recommendationBatchService.findPrecomputedJobIds(
+                profile(1L, 101L, null), 0, 2);
+
+        // Assert
+        assertThat(edited).isEmpty();
+        assertThat(unchanged).contains(List.of(10L, 20L));
+        assertThat(neverEdited).contains(List.of(10L, 20L));
+    }
+
+    @Test
+    void whenPageGoesPastTopN_thenItIsScoredLive() {
+        // Arrange: a full row set of top-n rows may have been truncated, a shorter one may not
+        LocalDateTime computedAt = LocalDateTime.of(2024, 5, 1, 3, 0);
+        when(studentRecommendationRepository.findByStudentIdOrderByPositionAsc(101L))
+                .thenReturn(rows(101L, computedAt, 10L, 20L, 30L));
+        when(studentRecommendationRepository.findByStudentIdOrderByPositionAsc(102L))
+                .thenReturn(rows(102L, computedAt, 40L, 50L));
+        when(studentRecommendationRepository.findByStudentIdOrderByPositionAsc(103L))
+                .thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        assertThat(recommendationBatchService.findPrecomputedJobIds(profile(1L, 101L, null), 1, 2))
+                .contains(List.of(20L, 30L));
+        assertThat(recommendationBatchService.findPrecomputedJobIds(profile(1L, 101L, null), 2, 2))
+                .isEmpty();
+        assertThat(recommendationBatchService.findPrecomputedJobIds(profile(2L, 102L, null), 1, 5))
+                .contains(List.of(50L));
+        assertThat(recommendationBatchService.findPrecomputedJobIds(profile(3L, 103L, null), 0, 2))
+                .isEmpty();
+    }
+
+    private List<StudentRecommendation> rows(Long studentId, LocalDateTime computedAt, Long... jobOfferIds) {
+        List<StudentRecommendation> rows = new ArrayList<>();
+        for (int position = 0; position < jobOfferIds.length; position++) {
+            rows.add(new StudentRecommendation((long) position + 1, studentId, jobOfferIds[position], position,
+                    1.0 - position * 0.1, computedAt));
+        }
+        return rows;
+    }
+
+    private StudentProfile profile(Long id, Long userId, LocalDateTime updatedAt) {
+        User user = new User();
+        user.setId(userId);
+        StudentProfile studentProfile = new StudentProfile();
+        studentProfile.setId(id);
+        studentProfile.setUser(user);
+        studentProfile.setUpdatedAt(updatedAt);
+        return studentProfile;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.RecommendationCache;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecommendationCacheTest {
+
+    private RecommendationCache recommendationCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        recommendationCache = new RecommendationCache(2, 600);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void whenSameRequestIsRepeated_thenServeFromCache() {
+        StudentProfile profile = profile(1L);
+
+        recommendationCache.get(profile, 0, 5, this::load);
+        recommendationCache.get(profile, 0, 5, this::load);
+        recommendationCache.get(profile, 5, 5, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(recommendationCache.getStats())
+                .containsEntry("hits", 1L)
+                .containsEntry("misses", 2L);
+    }
+
+    @Test
+    void whenProfileOrCatalogChanges_thenRecompute() {
+        StudentProfile profile = profile(1L);
+        StudentProfile otherProfile = profile(2L);
+        recommendationCache.get(profile, 0, 5, this::load);
+        recommendationCache.get(otherProfile, 0, 5, this::load);
+
+        // Only the updated student's entry is invalidated
+        recommendationCache.onStudentProfileSaved(profile);
+        recommendationCache.get(profile, 0, 5, this::load);
+        recommendationCache.get(otherProfile, 0, 5, this::load);
+        assertThat(loads.get()).isEqualTo(3);
+
+        // A job offer write invalidates every entry
+        recommendationCache.onJobOfferDeleted(42L);
+        recommendationCache.get(otherProfile, 0, 5, this::load);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    void whenCacheIsFull_thenEvictLeastRecentlyUsed() {
+        recommendationCache.get(profile(1L), 0, 5, this::load);
+        recommendationCache.get(profile(2L), 0, 5, this::load);
+        recommendationCache.get(profile(1L), 0, 5, this::load);
+        recommendationCache.get(profile(3L), 0, 5, this::load);
+
+        // Student 2 was the least recently used entry
+        recommendationCache.get(profile(1L), 0, 5, this::load);
+        recommendationCache.get(profile(2L), 0, 5, this::load);
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(recommendationCache.getStats()).containsEntry("evictions", 2L);
+    }
+
+    private List<JobOfferDto> load() {
+        loads.incrementAndGet();
+        return Collections.singletonList(new JobOfferDto());
+    }
+
+    private StudentProfile profile(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        StudentProfile profile = new StudentProfile();
+        profile.setUser(user);
+        return profile;
+    }
+}
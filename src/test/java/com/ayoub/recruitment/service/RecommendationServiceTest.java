@@ -1,8 +1,15 @@
 package com.ayoub.recruitment.service;
 
+import com.ayoub.recruitment.ai.JobLshIndex;
+import com.ayoub.recruitment.ai.JobMatcher;
+import com.ayoub.recruitment.ai.JobSkillIndex;
 import com.ayoub.recruitment.ai.RecommendationService;
 import com.ayoub.recruitment.ai.SimpleRecommendationService;
-import com.ayoub.recruitment.model.JobOffer;
+import com.ayoub.recruitment.ai.SkillDictionary;
+import com.ayoub.recruitment.ai.SkillExtractor;
+import com.ayoub.recruitment.ai.TfIdfIndex;
+import com.ayoub.recruitment.ai.TopK;
+import com.ayoub.recruitment.dto.JobOfferDto;
 import com.ayoub.recruitment.model.StudentProfile;
 import com.ayoub.recruitment.model.User;
 import com.ayoub.recruitment.model.UserRole;
@@ -13,7 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -30,13 +39,23 @@ public class RecommendationServiceTest {
     @Mock
     private StudentProfileRepository studentProfileRepository;
 
+    private SkillDictionary skillDictionary;
+    private JobCatalog jobCatalog;
+    private JobSkillIndex jobSkillIndex;
     private RecommendationService recommendationService;
     private StudentProfile studentProfile;
-    private List<JobOffer> allJobOffers;
+    private List<JobOfferDto> allJobOffers;
 
     @BeforeEach
     void setUp() {
-        recommendationService = new SimpleRecommendationService(jobOfferRepository, studentProfileRepository);
+        skillDictionary = new SkillDictionary();
+        jobCatalog = new JobCatalog(jobOfferRepository);
+        jobSkillIndex = new JobSkillIndex(jobCatalog, skillDictionary);
+        JobLshIndex jobLshIndex = new JobLshIndex(jobCatalog, skillDictionary, 20, 5);
+        JobMatcher jobMatcher = new JobMatcher(jobSkillIndex, jobLshIndex,
+                new TfIdfIndex(jobCatalog), false, "skills");
+        recommendationService = new SimpleRecommendationService(jobCatalog, studentProfileRepository,
+                skillDictionary, jobSkillIndex, jobMatcher, new SkillExtractor(new ClassPathResource("skills.txt")));
         
         // Create a student profile
         User student = new User();
@@ -58,29 +77,29 @@ public class RecommendationServiceTest {
         recruiter.setEmail("recruiter@example.com");
         recruiter.setRole(UserRole.RECRUITER);
         
-        JobOffer job1 = new JobOffer();
+        JobOfferDto job1 = new JobOfferDto();
         job1.setId(1L);
         job1.setTitle("Java Developer");
         job1.setDescription("Java developer position");
         job1.setCompanyName("Tech Company");
         job1.setSkills("Java, Spring, Hibernate, SQL");
-        job1.setRecruiter(recruiter);
+        job1.setRecruiterId(recruiter.getId());
         
-        JobOffer job2 = new JobOffer();
+        JobOfferDto job2 = new JobOfferDto();
         job2.setId(2L);
         job2.setTitle("Frontend Developer");
         job2.setDescription("React developer position");
         job2.setCompanyName("Web Company");
         job2.setSkills("React, JavaScript, HTML, CSS");
-        job2.setRecruiter(recruiter);
+        job2.setRecruiterId(recruiter.getId());
         
-        JobOffer job3 = new JobOffer();
+        JobOfferDto job3 = new JobOfferDto();
         job3.setId(3L);
         job3.setTitle("Data Scientist");
         job3.setDescription("ML engineer position");
         job3.setCompanyName("Data Company");
         job3.setSkills("Python, TensorFlow, SQL");
-        job3.setRecruiter(recruiter);
+        job3.setRecruiterId(recruiter.getId());
         
         allJobOffers = Arrays.asList(job1, job2, job3);
     }
@@ -89,10 +108,10 @@ public class RecommendationServiceTest {
     void whenGetRecommendationsForStudent_thenReturnMatchingJobs() {
         // Arrange
         when(studentProfileRepository.findByUserId(1L)).thenReturn(Optional.of(studentProfile));
-        when(jobOfferRepository.findAll()).thenReturn(allJobOffers);
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
         
         // Act
-        List<JobOffer> recommendations = recommendationService.getRecommendationsForStudent(1L);
+        List<JobOfferDto> recommendations = recommendationService.getRecommendationsForStudent(1L);
         
         // Assert
         assertThat(recommendations).hasSize(2);
@@ -112,10 +131,10 @@ public class RecommendationServiceTest {
         noMatchProfile.setUser(student2);
         
         when(studentProfileRepository.findByUserId(2L)).thenReturn(Optional.of(noMatchProfile));
-        when(jobOfferRepository.findAll()).thenReturn(allJobOffers);
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
         
         // Act
-        List<JobOffer> recommendations = recommendationService.getRecommendationsForStudent(2L);
+        List<JobOfferDto> recommendations = recommendationService.getRecommendationsForStudent(2L);
         
         // Assert
         assertThat(recommendations).isEmpty();
@@ -127,7 +146,7 @@ public class RecommendationServiceTest {
         when(studentProfileRepository.findByUserId(999L)).thenReturn(Optional.empty());
         
         // Act
-        List<JobOffer> recommendations = recommendationService.getRecommendationsForStudent(999L);
+        List<JobOfferDto> recommendations = recommendationService.getRecommendationsForStudent(999L);
         
         // Assert
         assertThat(recommendations).isEmpty();
@@ -139,22 +158,129 @@ public class RecommendationServiceTest {
         when(studentProfileRepository.findByUserId(1L)).thenReturn(Optional.of(studentProfile));
         
         // Create job with partial skill match
-        JobOffer job4 = new JobOffer();
+        JobOfferDto job4 = new JobOfferDto();
         job4.setId(4L);
         job4.setTitle("Full Stack Developer");
         job4.setDescription("Full stack position with Java and React");
         job4.setCompanyName("Software Company");
         job4.setSkills("Java, React, Node.js, MongoDB");
         
-        List<JobOffer> moreJobs = Arrays.asList(allJobOffers.get(0), allJobOffers.get(1), allJobOffers.get(2), job4);
-        when(jobOfferRepository.findAll()).thenReturn(moreJobs);
+        List<JobOfferDto> moreJobs = Arrays.asList(allJobOffers.get(0), allJobOffers.get(1), allJobOffers.get(2), job4);
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(moreJobs);
         
         // Act
-        List<JobOffer> recommendations = recommendationService.getRecommendationsForStudent(1L);
+        List<JobOfferDto> recommendations = recommendationService.getRecommendationsForStudent(1L);
         
         // Assert
         assertThat(recommendations).hasSize(3);
         // The full stack job should be in the recommendations
         assertThat(recommendations.stream().anyMatch(job -> job.getTitle().equals("Full Stack Developer"))).isTrue();
     }
+
+    @Test
+    void whenJobOfferSkillsChange_thenIndexIsUpdatedIncrementally() {
+        // Arrange
+        when(studentProfileRepository.findByUserId(1L)).thenReturn(Optional.of(studentProfile));
+        List<JobOfferDto> jobs = new ArrayList<>(allJobOffers);
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(jobs);
+        
+        assertThat(recommendationService.getRecommendationsForStudent(1L))
+                .extracting(JobOfferDto::getTitle)
+                .contains("Java Developer");
+        
+        // Act: the Java job no longer asks for any of the student's skills, the data job is removed;
+        // JobOfferService notifies the catalog first
+        JobOfferDto javaJob = allJobOffers.get(0);
+        javaJob.setSkills("Go, Rust");
+        jobCatalog.onJobOfferSaved(javaJob);
+        jobSkillIndex.onJobOfferSaved(javaJob);
+        jobCatalog.onJobOfferDeleted(3L);
+        jobSkillIndex.onJobOfferDeleted(3L);
+        
+        // Assert
+        assertThat(recommendationService.getRecommendationsForStudent(1L))
+                .extracting(JobOfferDto::getTitle)
+                .containsExactly("Frontend Developer");
+    }
+
+    @Test
+    void whenCalculateMatchScore_thenReturnJaccardSimilarity() {
+        // Arrange
+        JobOfferDto job = new JobOfferDto();
+        job.setSkills("java; spring\nHibernate, SQL, Java");
+        
+        JobOfferDto unrelatedJob = new JobOfferDto();
+        unrelatedJob.setSkills("Go, Rust");
+        
+        // Act & Assert: 3 shared skills out of 5 distinct ones
+        assertThat(recommendationService.calculateMatchScore(studentProfile, job)).isEqualTo(0.6);
+        assertThat(recommendationService.calculateMatchScore(studentProfile, unrelatedJob)).isEqualTo(0.0);
+    }
+
+    @Test
+    void whenStudentHasSkillsNoJobHas_thenTheyCountWithoutBeingInterned() {
+        // Arrange: only the job's skills are indexed, React and Spring are the student's own
+        JobOfferDto job = new JobOfferDto();
+        job.setId(1L);
+        job.setSkills("Java, SQL, Docker");
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(List.of(job));
+
+        // Act
+        double score = recommendationService.calculateMatchScore(studentProfile, jobDto(1L, "Java, SQL, Docker"));
+
+        // Assert: 2 shared skills out of 5 distinct ones
+        assertThat(score).isEqualTo(0.4);
+        assertThat(skillDictionary.lookup("java")).isNotNegative();
+        assertThat(skillDictionary.lookup("react")).isNegative();
+        assertThat(skillDictionary.size()).isEqualTo(3);
+    }
+
+    @Test
+    void whenRecommendJobsWithOffset_thenReturnStablePagesOrderedByScoreThenId() {
+        // Arrange: jobs 2 and 4 tie on score, job 3 does not match at all and is left out
+        List<JobOfferDto> jobs = Arrays.asList(
+                jobDto(4L, "Java, Spring"),
+                jobDto(3L, "Go, Rust"),
+                jobDto(2L, "SQL, React"),
+                jobDto(1L, "Java, Spring, SQL, React"));
+        
+        // Act
+        List<JobOfferDto> firstPage = recommendationService.recommendJobs(studentProfile, jobs, 0, 2);
+        List<JobOfferDto> secondPage = recommendationService.recommendJobs(studentProfile, jobs, 2, 2);
+        List<JobOfferDto> pastTheEnd = recommendationService.recommendJobs(studentProfile, jobs, 4, 2);
+        
+        // Assert
+        assertThat(firstPage).extracting(JobOfferDto::getId).containsExactly(1L, 2L);
+        assertThat(secondPage).extracting(JobOfferDto::getId).containsExactly(4L);
+        assertThat(pastTheEnd).isEmpty();
+    }
+
+    @Test
+    void whenLshCandidatesAreReranked_thenScoresAreExactJaccard() {
+        // Arrange: one job has exactly the student's skills, so every band collides
+        JobOfferDto sameSkillsJob = new JobOfferDto();
+        sameSkillsJob.setId(5L);
+        sameSkillsJob.setSkills("react, sql, spring, java");
+        List<JobOfferDto> jobs = new ArrayList<>(allJobOffers);
+        jobs.add(sameSkillsJob);
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(jobs);
+        
+        JobLshIndex jobLshIndex = new JobLshIndex(jobCatalog, skillDictionary, 20, 5);
+        
+        // Act
+        List<TopK.Scored<Long>> matches = jobLshIndex.findTopMatches(studentProfile, 10);
+        
+        // Assert: candidates are ranked by exact score and never include non-matching jobs
+        assertThat(matches).isNotEmpty();
+        assertThat(matches.get(0).getItem()).isEqualTo(5L);
+        assertThat(matches.get(0).getScore()).isEqualTo(1.0);
+        assertThat(matches).allMatch(match -> match.getScore() > 0.0);
+    }
+
+    private JobOfferDto jobDto(Long id, String skills) {
+        JobOfferDto job = new JobOfferDto();
+        job.setId(id);
+        job.setSkills(skills);
+        return job;
+    }
 }
@@ -0,0 +1,60 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.RecommendationService;
+import com.ayoub.recruitment.ai.RecommendationStreamService;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.RecommendationSnapshot;
+import com.ayoub.recruitment.model.StudentProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RecommendationStreamServiceTest {
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    @Mock
+    private JobOfferService jobOfferService;
+
+    @Test
+    void whenStreamingRecommendations_thenPublishRefinedSnapshotsPerChunk() {
+        // Arrange
+        RecommendationStreamService streamService =
+                new RecommendationStreamService(recommendationService, jobOfferService, 2);
+        StudentProfile studentProfile = new StudentProfile();
+        when(jobOfferService.getJobOffersAfterId(0L, 2)).thenReturn(List.of(job(1L), job(2L)));
+        when(jobOfferService.getJobOffersAfterId(2L, 2)).thenReturn(List.of(job(3L)));
+        // Job 3 scores best, so it only shows up once the last chunk has been scored
+        when(recommendationService.calculateMatchScore(any(), any()))
+                .thenAnswer(invocation -> invocation.<JobOfferDto>getArgument(1).getId() * 0.1);
+
+        // Act
+        List<RecommendationSnapshot> snapshots = new ArrayList<>();
+        streamService.streamRecommendations(studentProfile, 2, snapshots::add);
+
+        // Assert
+        assertThat(snapshots).hasSize(2);
+        assertThat(snapshots.get(0).isComplete()).isFalse();
+        assertThat(snapshots.get(0).getScannedJobs()).isEqualTo(2);
+        assertThat(snapshots.get(0).getRecommendations()).extracting(JobOfferDto::getId).containsExactly(2L, 1L);
+        assertThat(snapshots.get(1).isComplete()).isTrue();
+        assertThat(snapshots.get(1).getScannedJobs()).isEqualTo(3);
+        assertThat(snapshots.get(1).getRecommendations()).extracting(JobOfferDto::getId).containsExactly(3L, 2L);
+    }
+
+    private JobOfferDto job(Long id) {
+        JobOfferDto job = new JobOfferDto();
+        job.setId(id);
+        return job;
+    }
+}
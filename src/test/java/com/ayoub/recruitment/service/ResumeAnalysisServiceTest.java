@@ -0,0 +1,130 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.ResumeAnalysisService;
+import com.ayoub.recruitment.ai.ResumeTextExtractor;
+import com.ayoub.recruitment.ai.SkillExtractor;
+import com.ayoub.recruitment.config.FileStorageConfig;
+import com.ayoub.recruitment.config.FileStorageConfig.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResumeAnalysisServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ResumeAnalysisService resumeAnalysisService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfig fileStorageConfig = new FileStorageConfig();
+        ReflectionTestUtils.setField(fileStorageConfig, "uploadDir", uploadDir.toString());
+        FileStorageService fileStorageService = fileStorageConfig.fileStorageService();
+        resumeAnalysisService = new ResumeAnalysisService(fileStorageService,
+                new ResumeTextExtractor(fileStorageService), new SkillExtractor(new ClassPathResource("skills.txt")));
+    }
+
+    @Test
+    void whenResumeIsLargerThanOneChunk_thenSkillsAcrossChunksAreFound() throws IOException {
+        // Arrange
+        StringBuilder resume = new StringBuilder("Experienced with Docker.\n");
+        // "Kubernetes" straddles the end of the first 8192-char chunk
+        resume.append(" ".repeat(8163)).append("Kubernetes and Python");
+        Files.writeString(uploadDir.resolve("resume.txt"), resume);
+
+        // Act
+        List<String> skills = resumeAnalysisService.extractSkills("resume.txt");
+
+        // Assert
+        assertThat(skills).containsExactly("docker", "kubernetes", "python");
+    }
+
+    @Test
+    void whenAnalyzed_thenExtractedTextIsCachedNextToResume() throws IOException {
+        // Arrange
+        Files.writeString(uploadDir.resolve("resume.txt"), "Java and React developer");
+
+        // Act
+        List<String> skills = resumeAnalysisService.analyze("resume.txt");
+
+        // Assert
+        assertThat(skills).containsExactly("java", "react");
+        assertThat(Files.readString(uploadDir.resolve(ResumeAnalysisService.extractedTextFilename("resume.txt"))))
+                .isEqualTo("Java and React developer");
+    }
+
+    @Test
+    void whenResumeWasAnalyzed_thenSkillsAreExtractedFromTheCachedText() throws IOException {
+        // Arrange: the stored resume changes after the analysis, so only the cache still mentions Java
+        Files.writeString(uploadDir.resolve("resume.txt"), "Java and React developer");
+        resumeAnalysisService.analyze("resume.txt");
+        Files.writeString(uploadDir.resolve("resume.txt"), "Go developer");
+
+        // Act
+        List<String> skills = resumeAnalysisService.extractSkills("resume.txt");
+
+        // Assert
+        assertThat(skills).containsExactly("java", "react");
+        assertThat(uploadDir.resolve(ResumeAnalysisService.extractedTextFilename("resume.txt") + ".part"))
+                .doesNotExist();
+    }
+
+    @Test
+    void whenResumeIsDocx_thenTextOfItsBodyIsAnalyzed() throws IOException {
+        // Arrange
+        String body = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+                + "<w:p><w:r><w:t>Java</w:t></w:r><w:r><w:t xml:space=\"preserve\"> and Dock</w:t></w:r>"
+                + "<w:r><w:t>er</w:t></w:r></w:p><w:p><w:r><w:t>Python</w:t></w:r></w:p>"
+                + "</w:body></w:document>";
+        try (OutputStream file = Files.newOutputStream(uploadDir.resolve("resume.docx"));
+             ZipOutputStream zip = new ZipOutputStream(file)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Act
+        List<String> skills = resumeAnalysisService.analyze("resume.docx");
+
+        // Assert
+        assertThat(skills).containsExactly("java", "docker", "python");
+        assertThat(Files.readString(uploadDir.resolve(ResumeAnalysisService.extractedTextFilename("resume.docx"))))
+                .isEqualTo("Java and Docker\nPython\n");
+    }
+
+    @Test
+    void whenResumeIsPdf_thenItIsNotSupported() throws IOException {
+        // Arrange
+        Files.write(uploadDir.resolve("resume.pdf"), new byte[]{'%', 'P', 'D', 'F'});
+
+        // Act & Assert
+        assertThat(resumeAnalysisService.isSupported("resume.pdf")).isFalse();
+        assertThat(resumeAnalysisService.isSupported("resume.docx")).isTrue();
+        assertThatThrownBy(() -> resumeAnalysisService.analyze("resume.pdf"))
+                .hasMessageContaining("Unsupported resume format");
+    }
+
+    @Test
+    void whenFilenameEscapesStorage_thenResumeDoesNotExist() {
+        // Act & Assert
+        assertThat(resumeAnalysisService.resumeExists("../secret.txt")).isFalse();
+        assertThat(resumeAnalysisService.resumeExists("missing.txt")).isFalse();
+    }
+}
@@ -0,0 +1,89 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.ResumeAnalysisService;
+import com.ayoub.recruitment.dto.ResumeProcessingJobDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ResumeProcessingServiceTest {
+
+    @Mock
+    private ResumeAnalysisService resumeAnalysisService;
+
+    @Mock
+    private StudentProfileService studentProfileService;
+
+    private ResumeProcessingService resumeProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        resumeProcessingService = new ResumeProcessingService(resumeAnalysisService, studentProfileService, 1, 1, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resumeProcessingService.shutdown();
+    }
+
+    @Test
+    void whenResumeSubmitted_thenSkillsAreAddedToProfileInBackground() {
+        // Arrange
+        when(resumeAnalysisService.analyze("resume.txt")).thenReturn(List.of("java", "docker"));
+
+        // Act
+        String jobId = resumeProcessingService.submit(1L, "resume.txt").orElseThrow().getJobId();
+
+        // Assert
+        verify(studentProfileService, timeout(5000)).addExtractedSkills(1L, List.of("java", "docker"));
+        ResumeProcessingJobDto job = awaitFinished(jobId);
+        assertThat(job.getStatus()).isEqualTo(ResumeProcessingJobDto.Status.COMPLETED);
+        assertThat(job.getExtractedSkills()).containsExactly("java", "docker");
+    }
+
+    @Test
+    void whenQueueIsFull_thenSubmissionIsRejected() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(resumeAnalysisService.analyze(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of();
+        });
+
+        // Act
+        Optional<ResumeProcessingJobDto> running = resumeProcessingService.submit(1L, "a.txt");
+        started.await(5, TimeUnit.SECONDS);
+        Optional<ResumeProcessingJobDto> queued = resumeProcessingService.submit(1L, "b.txt");
+        Optional<ResumeProcessingJobDto> rejected = resumeProcessingService.submit(1L, "c.txt");
+        release.countDown();
+
+        // Assert
+        assertThat(running).isPresent();
+        assertThat(queued).isPresent();
+        assertThat(rejected).isEmpty();
+    }
+
+    private ResumeProcessingJobDto awaitFinished(String jobId) {
+        long deadline = System.currentTimeMillis() + 5000;
+        ResumeProcessingJobDto job = resumeProcessingService.getJob(jobId).orElseThrow();
+        while (job.getCompletedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            job = resumeProcessingService.getJob(jobId).orElseThrow();
+        }
+        return job;
+    }
+}
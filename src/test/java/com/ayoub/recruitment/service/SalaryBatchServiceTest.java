@@ -0,0 +1,100 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.SalaryBatchService;
+import com.ayoub.recruitment.ai.SalaryPredictionService;
+import com.ayoub.recruitment.dto.StudentSalaryPredictionDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.User;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SalaryBatchServiceTest {
+
+    @Mock
+    private StudentProfileRepository studentProfileRepository;
+
+    @Mock
+    private SalaryPredictionService salaryPredictionService;
+
+    private SalaryBatchService salaryBatchService;
+
+    @BeforeEach
+    void setUp() {
+        salaryBatchService = new SalaryBatchService(studentProfileRepository, salaryPredictionService, 4);
+        ReflectionTestUtils.setField(salaryBatchService, "maxStudents", 100);
+        ReflectionTestUtils.setField(salaryBatchService, "chunkSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        salaryBatchService.shutdown();
+    }
+
+    @Test
+    void whenPredictingCohort_thenProfilesLoadedOnceAndResultsFollowRequestOrder() {
+        // Arrange
+        List<StudentProfile> profiles = new ArrayList<>();
+        for (long userId = 1; userId <= 10; userId++) {
+            profiles.add(profile(userId));
+        }
+        Collections.shuffle(profiles);
+        when(studentProfileRepository.findByUserIdIn(anyCollection())).thenReturn(profiles);
+        when(salaryPredictionService.predictSalary(any())).thenAnswer(invocation -> {
+            long userId = invocation.<StudentProfile>getArgument(0).getUser().getId();
+            return new SalaryPredictionService.SalaryPrediction(userId * 1000, userId * 2000, 0.5);
+        });
+        List<Long> studentIds = List.of(10L, 3L, 42L, 7L, 1L, 3L, 2L);
+
+        // Act
+        List<StudentSalaryPredictionDto> predictions = new ArrayList<>();
+        salaryBatchService.predictCohort(studentIds, predictions::add);
+
+        // Assert
+        verify(studentProfileRepository, times(1)).findByUserIdIn(anyCollection());
+        assertThat(predictions).extracting(StudentSalaryPredictionDto::getStudentId)
+                .containsExactly(10L, 3L, 42L, 7L, 1L, 2L);
+        assertThat(predictions.get(0).getMinSalary()).isEqualTo(10000.0);
+        assertThat(predictions.get(2).isFound()).isFalse();
+        assertThat(predictions.get(2).getMinSalary()).isNull();
+    }
+
+    @Test
+    void whenCohortTooLarge_thenRejected() {
+        // Arrange
+        List<Long> studentIds = new ArrayList<>();
+        for (long userId = 1; userId <= 101; userId++) {
+            studentIds.add(userId);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> salaryBatchService.predictCohort(studentIds, prediction -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private StudentProfile profile(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        StudentProfile studentProfile = new StudentProfile();
+        studentProfile.setUser(user);
+        return studentProfile;
+    }
+}
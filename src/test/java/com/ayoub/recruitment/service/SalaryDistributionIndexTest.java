@@ -0,0 +1,126 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.QuantileSketch;
+import com.ayoub.recruitment.ai.SalaryDistributionIndex;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.dto.SalaryDistributionDto;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SalaryDistributionIndexTest {
+
+    private static final List<Double> MEDIAN = List.of(0.5);
+
+    @Mock
+    private JobOfferRepository jobOfferRepository;
+
+    private JobCatalog jobCatalog;
+    private SalaryDistributionIndex salaryDistributionIndex;
+    private List<JobOfferDto> allJobOffers;
+
+    @BeforeEach
+    void setUp() {
+        jobCatalog = spy(new JobCatalog(jobOfferRepository));
+        salaryDistributionIndex = new SalaryDistributionIndex(jobCatalog, 200);
+
+        allJobOffers = new ArrayList<>(List.of(
+                jobOffer(1L, "Acme", "Java, Spring", 60000.0, 80000.0),
+                jobOffer(2L, "Acme", "Java", 70000.0, 90000.0),
+                jobOffer(3L, "Globex", "Java, SQL", 80000.0, 100000.0),
+                jobOffer(4L, "Globex", "HTML", 30000.0, null)));
+    }
+
+    @Test
+    void whenManyValuesAdded_thenQuantilesStayWithinRankError() {
+        // Arrange
+        Random random = new Random(42);
+        QuantileSketch first = new QuantileSketch(200);
+        QuantileSketch second = new QuantileSketch(200);
+        double[] values = new double[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 30000 + random.nextGaussian() * 15000;
+            (i % 2 == 0 ? first : second).update(values[i]);
+        }
+        Arrays.sort(values);
+
+        // Act
+        first.merge(second);
+        double[] estimates = first.quantiles(0.1, 0.5, 0.9);
+
+        // Assert
+        assertThat(first.getCount()).isEqualTo(values.length);
+        double[] fractions = {0.1, 0.5, 0.9};
+        for (int i = 0; i < fractions.length; i++) {
+            int rank = Math.abs(Arrays.binarySearch(values, estimates[i]));
+            assertThat((double) rank / values.length).isCloseTo(fractions[i], within(0.02));
+        }
+    }
+
+    @Test
+    void whenQueried_thenDistributionsAreGroupedBySkillAndCompany() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+
+        // Act
+        SalaryDistributionDto java = salaryDistributionIndex.forSkill("JAVA", MEDIAN).orElseThrow();
+        SalaryDistributionDto globex = salaryDistributionIndex.forCompany("globex", MEDIAN).orElseThrow();
+
+        // Assert
+        assertThat(java.getOfferCount()).isEqualTo(3L);
+        assertThat(java.getLowestSalary()).isEqualTo(60000.0);
+        assertThat(java.getHighestSalary()).isEqualTo(100000.0);
+        assertThat(java.getMinSalaryQuantiles()).containsEntry("p50", 70000.0);
+        assertThat(globex.getOfferCount()).isEqualTo(1L);
+        // Offers without a complete salary range are left out
+        assertThat(salaryDistributionIndex.forSkill("html", MEDIAN)).isEmpty();
+    }
+
+    @Test
+    void whenJobOfferEdited_thenNextScheduledRebuildDropsPreviousValues() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+        salaryDistributionIndex.forSkill("java", MEDIAN);
+        JobOfferDto edited = jobOffer(2L, "Acme", "Kotlin", 70000.0, 90000.0);
+
+        // Act: JobOfferService notifies the catalog first
+        jobCatalog.onJobOfferSaved(edited);
+        salaryDistributionIndex.onJobOfferSaved(edited);
+        long javaOffersBeforeRebuild = salaryDistributionIndex.forSkill("java", MEDIAN).orElseThrow().getOfferCount();
+        salaryDistributionIndex.rebuildIfStale();
+        salaryDistributionIndex.rebuildIfStale();
+
+        // Assert
+        assertThat(javaOffersBeforeRebuild).isEqualTo(3L);
+        assertThat(salaryDistributionIndex.forSkill("java", MEDIAN).orElseThrow().getOfferCount()).isEqualTo(2L);
+        assertThat(salaryDistributionIndex.forSkill("kotlin", MEDIAN).orElseThrow().getOfferCount()).isEqualTo(1L);
+        // Initial load and a single rebuild; the second check found nothing stale
+        verify(jobCatalog, times(2)).getAll();
+    }
+
+    private JobOfferDto jobOffer(Long id, String company, String skills, Double salaryMin, Double salaryMax) {
+        JobOfferDto jobOffer = new JobOfferDto();
+        jobOffer.setId(id);
+        jobOffer.setCompanyName(company);
+        jobOffer.setSkills(skills);
+        jobOffer.setSalaryMin(salaryMin);
+        jobOffer.setSalaryMax(salaryMax);
+        return jobOffer;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.SkillAutomaton;
+import com.ayoub.recruitment.ai.SkillExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SkillExtractorTest {
+
+    private SkillExtractor skillExtractor;
+
+    @BeforeEach
+    void setUp() {
+        skillExtractor = new SkillExtractor(new ClassPathResource("skills.txt"));
+    }
+
+    @Test
+    void whenExtractSkills_thenRespectWordBoundaries() {
+        // Act
+        List<String> skills = skillExtractor.extractSkills("Senior JavaScript developer, some Node.js and C++.");
+
+        // Assert
+        assertThat(skills).containsExactly("javascript", "node.js", "c++");
+    }
+
+    @Test
+    void whenExtractSkills_thenFindMultiWordAndOverlappingSkills() {
+        // Act
+        List<String> skills = skillExtractor.extractSkills("Built APIs with Spring\nBoot and C#; machine learning on AWS");
+
+        // Assert
+        assertThat(skills).containsExactly("spring", "spring boot", "c#", "machine learning", "aws");
+    }
+
+    @Test
+    void whenFindMatches_thenReportOffsets() {
+        // Arrange
+        String text = "I know Java and Docker";
+
+        // Act
+        List<SkillAutomaton.SkillMatch> matches = skillExtractor.findMatches(text);
+
+        // Assert
+        assertThat(matches).extracting(SkillAutomaton.SkillMatch::getSkill).containsExactly("java", "docker");
+        assertThat(text.substring((int) matches.get(1).getStart(), (int) matches.get(1).getEnd())).isEqualTo("Docker");
+    }
+
+    @Test
+    void whenTextIsFedInChunks_thenMatchesSpanningChunksAreFound() {
+        // Arrange
+        SkillAutomaton automaton = SkillAutomaton.compile(List.of("kubernetes", "java"));
+        List<SkillAutomaton.SkillMatch> matches = new ArrayList<>();
+        SkillAutomaton.Matcher matcher = automaton.matcher(matches::add);
+
+        // Act
+        matcher.feed("Ran Kuber");
+        matcher.feed("netes and ja");
+        matcher.feed("va");
+        matcher.finish();
+
+        // Assert
+        assertThat(matches).extracting(SkillAutomaton.SkillMatch::getSkill).containsExactly("kubernetes", "java");
+        assertThat(matches.get(1).getStart()).isEqualTo(19);
+        assertThat(matches.get(1).getEnd()).isEqualTo(23);
+    }
+
+    @Test
+    void whenSubstringAutomaton_thenReturnLowestPatternFoundAnywhere() {
+        // Arrange
+        SkillAutomaton automaton = SkillAutomaton.compileSubstrings(List.of("script", "java", "sql"));
+
+        // Act & Assert
+        assertThat(automaton.firstPatternIn("javascript")).isEqualTo(0);
+        assertThat(automaton.firstPatternIn("nosql")).isEqualTo(2);
+        assertThat(automaton.firstPatternIn("python")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.dto.StudentProfileDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.User;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import com.ayoub.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentProfileServiceTest {
+
+    @Mock
+    private StudentProfileRepository studentProfileRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StudentProfileListener listener;
+
+    private StudentProfileService studentProfileService;
+
+    @BeforeEach
+    void setUp() {
+        studentProfileService = new StudentProfileService(studentProfileRepository, userRepository, List.of(listener));
+    }
+
+    @Test
+    void whenProfileHasNoSkills_thenExtractedSkillsAreAdded() {
+        // Arrange
+        StudentProfile profile = profile(null);
+        when(studentProfileRepository.findByUserId(1L)).thenReturn(Optional.of(profile));
+        when(studentProfileRepository.save(any(StudentProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        StudentProfileDto result = studentProfileService.addExtractedSkills(1L, List.of("java", "docker"));
+
+        // Assert
+        assertThat(result.getSkills()).isEqualTo("java, docker");
+        verify(listener).onStudentProfileSaved(profile);
+    }
+
+    @Test
+    void whenSkillsAlreadyKnown_thenProfileIsNotSaved() {
+        // Arrange
+        when(studentProfileRepository.findByUserId(1L)).thenReturn(Optional.of(profile("Java, Docker")));
+
+        // Act
+        StudentProfileDto result = studentProfileService.addExtractedSkills(1L, List.of("java", "docker"));
+
+        // Assert
+        assertThat(result.getSkills()).isEqualTo("Java, Docker");
+        verify(studentProfileRepository, never()).save(any());
+        verifyNoInteractions(listener);
+    }
+
+    private StudentProfile profile(String skills) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("student@example.com");
+        StudentProfile profile = new StudentProfile();
+        profile.setId(10L);
+        profile.setUser(user);
+        profile.setSkills(skills);
+        return profile;
+    }
+}
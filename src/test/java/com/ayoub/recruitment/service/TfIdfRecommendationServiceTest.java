@@ -0,0 +1,135 @@
+package com.ayoub.recruitment.service;
+
+import com.ayoub.recruitment.ai.SkillExtractor;
+import com.ayoub.recruitment.ai.TfIdfIndex;
+import com.ayoub.recruitment.ai.TfIdfRecommendationService;
+import com.ayoub.recruitment.ai.TopK;
+import com.ayoub.recruitment.dto.JobOfferDto;
+import com.ayoub.recruitment.model.StudentProfile;
+import com.ayoub.recruitment.model.User;
+import com.ayoub.recruitment.repository.JobOfferRepository;
+import com.ayoub.recruitment.repository.StudentProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TfIdfRecommendationServiceTest {
+
+    @Mock
+    private JobOfferRepository jobOfferRepository;
+
+    @Mock
+    private StudentProfileRepository studentProfileRepository;
+
+    private TfIdfIndex tfIdfIndex;
+    private TfIdfRecommendationService recommendationService;
+    private StudentProfile studentProfile;
+    private List<JobOfferDto> allJobOffers;
+
+    @BeforeEach
+    void setUp() {
+        JobCatalog jobCatalog = new JobCatalog(jobOfferRepository);
+        tfIdfIndex = new TfIdfIndex(jobCatalog);
+        recommendationService = new TfIdfRecommendationService(jobCatalog, studentProfileRepository,
+                tfIdfIndex, new SkillExtractor(new ClassPathResource("skills.txt")));
+
+        User student = new User();
+        student.setId(1L);
+        studentProfile = new StudentProfile();
+        studentProfile.setId(1L);
+        studentProfile.setUser(student);
+        studentProfile.setSkills("Java, Spring Boot");
+
+        // Only the description of the second job mentions Java
+        allJobOffers = new ArrayList<>(Arrays.asList(
+                jobOffer(1L, "Java Developer", "Build Spring Boot services", "Java, Spring Boot, SQL"),
+                jobOffer(2L, "Backend Engineer", "Maintain legacy Java code", "Go, Kafka"),
+                jobOffer(3L, "Data Scientist", "Train models", "Python, TensorFlow")));
+    }
+
+    @Test
+    void whenGetRecommendationsForStudent_thenRankByCosineOverAllFields() {
+        // Arrange
+        when(studentProfileRepository.findByUserId(1L)).thenReturn(Optional.of(studentProfile));
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+
+        // Act
+        List<JobOfferDto> recommendations = recommendationService.getRecommendationsForStudent(1L, 10);
+
+        // Assert
+        assertThat(recommendations).extracting(JobOfferDto::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void whenJobOfferAddedAndDeleted_thenIndexIsUpdatedIncrementally() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+        assertThat(tfIdfIndex.findTopMatches(studentProfile, 10)).hasSize(2);
+
+        // Act
+        tfIdfIndex.onJobOfferSaved(jobOffer(4L, "Senior Java Developer", "Spring Boot", "Java, Spring Boot"));
+        tfIdfIndex.onJobOfferDeleted(1L);
+
+        // Assert
+        assertThat(tfIdfIndex.findTopMatches(studentProfile, 10))
+                .extracting(TopK.Scored::getItem)
+                .containsExactly(4L, 2L);
+    }
+
+    @Test
+    void whenCalculateMatchScore_thenAgreeWithIndexedScore() {
+        // Arrange
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+        JobOfferDto dto = new JobOfferDto();
+        dto.setId(1L);
+        dto.setTitle("Java Developer");
+        dto.setDescription("Build Spring Boot services");
+        dto.setSkills("Java, Spring Boot, SQL");
+
+        // Act
+        double score = recommendationService.calculateMatchScore(studentProfile, dto);
+
+        // Assert
+        assertThat(score).isBetween(0.0, 1.0);
+        assertThat(score).isCloseTo(tfIdfIndex.score(studentProfile).get(1L), within(1e-9));
+    }
+
+    @Test
+    void whenJobOffersAreOnlyUpdated_thenNormsFollowTheDocumentFrequencies() {
+        // Arrange: updates leave the document count unchanged while Java gets rarer
+        when(jobOfferRepository.findAllDtos(true)).thenReturn(allJobOffers);
+        tfIdfIndex.findTopMatches(studentProfile, 10);
+
+        // Act
+        tfIdfIndex.onJobOfferSaved(jobOffer(2L, "Backend Engineer", "Maintain legacy Go code", "Go, Kafka"));
+        tfIdfIndex.onJobOfferSaved(jobOffer(3L, "Data Scientist", "Train models", "Python, Spark"));
+
+        // Assert
+        double indexed = tfIdfIndex.score(studentProfile).get(1L);
+        assertThat(indexed).isBetween(0.0, 1.0);
+        assertThat(indexed).isCloseTo(tfIdfIndex.similarity(studentProfile,
+                "Java Developer", "Build Spring Boot services", "Java, Spring Boot, SQL"), within(1e-9));
+    }
+
+    private JobOfferDto jobOffer(Long id, String title, String description, String skills) {
+        JobOfferDto jobOffer = new JobOfferDto();
+        jobOffer.setId(id);
+        jobOffer.setTitle(title);
+        jobOffer.setDescription(description);
+        jobOffer.setSkills(skills);
+        return jobOffer;
+    }
+}